@@ -0,0 +1,171 @@
+package com.example.softwareloggingapp.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Generates synthetic {@code application.json} content in the layout written by the FILE appender:
+ * one compact JSON event per line. The mix resembles production traffic:
+ * <ul>
+ *     <li>90% product operations by one of {@link #USERS} users, skewed towards a few heavy users;
+ *     most carry the structured {@code op}/{@code user} fields, a fifth are legacy events with
+ *     only the MDC user, so both classification paths are exercised</li>
+ *     <li>10% events without a user, such as user-management and framework messages</li>
+ * </ul>
+ * Output is deterministic for a given seed, so generated files can be reused between runs.
+ */
+public final class SyntheticLogs {
+
+    public static final int USERS = 2_000; // Distinct user emails
+    public static final long SEED = 42;
+
+    private static final String PRODUCT_LOGGER = "com.example.softwareloggingapp.controller.ProductController";
+    private static final String USER_LOGGER = "com.example.softwareloggingapp.controller.UserController";
+    private static final String MONGO_LOGGER = "org.mongodb.driver.connection";
+    private static final Instant START = Instant.parse("2024-12-04T07:00:00Z");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    private SyntheticLogs() {
+    }
+
+    /**
+     * Returns a synthetic log file of the given size, generating it on first use.
+     * Files are kept under {@code synthetic/} in the working directory and reused by later runs.
+     *
+     * @param lines the number of log events
+     * @return the log file
+     * @throws IOException if the file cannot be written
+     */
+    public static Path logFile(int lines) throws IOException {
+        Path file = Path.of("synthetic", "application-" + lines + ".json");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(file.getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp"); // Never leave a truncated file behind
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(temporary), StandardCharsets.UTF_8), 1 << 16)) {
+            write(out, lines, SEED);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    /**
+     * Generates a small log in memory, e.g. to sample messages for micro-benchmarks.
+     *
+     * @param lines the number of log events
+     * @param seed  the random seed
+     * @return the UTF-8 log content
+     */
+    public static byte[] sample(int lines, long seed) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            write(out, lines, seed);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected I/O error on an in-memory stream", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes log events, one per line.
+     *
+     * @param out   the destination
+     * @param lines the number of log events
+     * @param seed  the random seed
+     * @throws IOException if writing fails
+     */
+    public static void write(Writer out, int lines, long seed) throws IOException {
+        Random random = new Random(seed);
+        long epochNanos = START.getEpochSecond() * 1_000_000_000L;
+        StringBuilder line = new StringBuilder(512);
+        for (int i = 0; i < lines; i++) {
+            epochNanos += random.nextInt(20_000_000); // Up to 20 ms between events
+            line.setLength(0);
+            appendEvent(line, random, epochNanos);
+            out.append(line).append('\n');
+        }
+    }
+
+    private static void appendEvent(StringBuilder line, Random random, long epochNanos) {
+        String timestamp = TIMESTAMP.format(OffsetDateTime.ofInstant(
+                Instant.ofEpochSecond(0, epochNanos), ZoneOffset.ofHours(1)));
+        String thread = "http-nio-8080-exec-" + (1 + random.nextInt(200));
+
+        if (random.nextInt(10) == 0) {
+            boolean driver = random.nextBoolean();
+            String message = driver ? "Opened connection [connectionId{localValue:" + random.nextInt(1000) + "}] to localhost:27017"
+                    : "Request to fetch all users.";
+            appendCommon(line, timestamp, message, driver ? MONGO_LOGGER : USER_LOGGER, thread, "INFO");
+            line.append('}');
+            return;
+        }
+
+        String user = "user" + (int) (USERS * Math.pow(random.nextDouble(), 2)) + "@example.com"; // Few heavy users
+        String productId = Long.toHexString(random.nextLong() & Long.MAX_VALUE);
+        int kind = random.nextInt(100);
+        String op;
+        String level = "INFO";
+        String message;
+        if (kind < 35) {
+            op = "READ";
+            message = "User " + user + " performed READ operation: fetching product with ID " + productId;
+        } else if (kind < 45) {
+            op = "READ";
+            message = "User " + user + " performed READ operation: fetching all products";
+        } else if (kind < 55) {
+            op = "READ";
+            message = "User " + user + " performed READ operation: fetching products page sorted by price";
+        } else if (kind < 70) {
+            op = "WRITE";
+            message = "User " + user + " performed WRITE operation: adding product " + product(random, null);
+        } else if (kind < 80) {
+            op = "WRITE";
+            message = "User " + user + " performed WRITE operation: updating product " + product(random, productId);
+        } else if (kind < 88) {
+            op = "DELETE";
+            level = "WARN";
+            message = "User " + user + " performed DELETE operation: deleting product with ID " + productId;
+        } else {
+            op = "MOST_EXPENSIVE_SEARCH";
+            message = "User " + user + " searched for the most expensive products";
+        }
+
+        appendCommon(line, timestamp, message, PRODUCT_LOGGER, thread, level);
+        if (random.nextInt(5) == 0) {
+            line.append(",\"user\":\"").append(user).append('"'); // Legacy event, user from the MDC only
+        } else {
+            line.append(",\"op\":\"").append(op).append("\",\"user\":\"").append(user)
+                    .append("\",\"entity\":\"product\",\"durationMs\":").append(random.nextInt(30));
+        }
+        line.append('}');
+    }
+
+    private static void appendCommon(StringBuilder line, String timestamp, String message, String logger,
+                                     String thread, String level) {
+        line.append("{\"@timestamp\":\"").append(timestamp)
+                .append("\",\"message\":\"").append(message)
+                .append("\",\"logger_name\":\"").append(logger)
+                .append("\",\"thread_name\":\"").append(thread)
+                .append("\",\"level\":\"").append(level).append('"');
+    }
+
+    private static String product(Random random, String id) {
+        return "Product(id=" + id + ", name=Product " + random.nextInt(100_000)
+                + ", price=" + random.nextInt(100_000) / 100.0
+                + ", expirationDate=2025-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10)
+                + ", version=" + (id == null ? null : random.nextInt(5)) + ")";
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.softwareloggingapp.lps;
+
+import com.example.softwareloggingapp.benchmark.SyntheticLogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the LPS profiles from a whole synthetic log, sequentially as
+ * {@link LogParser} does on its first run, and on all cores with {@link ParallelLogParser}.
+ * Pass {@code -p lines=100000000} to run on the 100M-line log, which takes tens of gigabytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LogParserBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int lines;
+
+    private Path logFile;
+
+    @Setup
+    public void generateLog() throws IOException {
+        logFile = SyntheticLogs.logFile(lines);
+    }
+
+    @Benchmark
+    public Map<String, LogParser.UserProfile> sequential() throws IOException {
+        Map<String, LogParser.UserProfile> profiles = new HashMap<>();
+        OperationClassifier.Classification classification = new OperationClassifier.Classification();
+        try (LogTailer tailer = new LogTailer(logFile, null)) {
+            tailer.poll(record -> LogParser.parseRecord(record, classification, profiles));
+        }
+        return profiles;
+    }
+
+    @Benchmark
+    public ParallelLogParser.Result parallel() throws IOException {
+        return ParallelLogParser.parse(logFile, ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.softwareloggingapp.lps;
+
+import com.example.softwareloggingapp.benchmark.SyntheticLogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures extracting the email and operation type of one event, by scanning its message
+ * (legacy events) and from its structured fields.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperationClassifierBenchmark {
+
+    private static final int SAMPLE_SIZE = 4096; // Power of two, indexes wrap with a mask
+
+    private final OperationClassifier classifier = OperationClassifier.defaults();
+    private final OperationClassifier.Classification classification = new OperationClassifier.Classification();
+    private String[] messages;
+    private LogRecord[] records;
+    private int next;
+
+    @Setup
+    public void sampleEvents() throws IOException {
+        List<LogRecord> sampled = new ArrayList<>();
+        new LogRecordReader().read(new ByteArrayInputStream(SyntheticLogs.sample(SAMPLE_SIZE, SyntheticLogs.SEED)), record -> {
+            LogRecord copy = new LogRecord(); // The reader reuses its record
+            copy.setMessage(record.getMessage());
+            copy.setUser(record.getUser());
+            copy.setOp(record.getOp());
+            sampled.add(copy);
+        });
+        records = sampled.toArray(new LogRecord[0]);
+        messages = sampled.stream().map(LogRecord::getMessage).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public boolean classifyMessage() {
+        return classifier.classify(messages[next++ & (SAMPLE_SIZE - 1)], classification);
+    }
+
+    @Benchmark
+    public boolean classifyRecord() {
+        return classifier.classify(records[next++ & (SAMPLE_SIZE - 1)], classification);
+    }
+}
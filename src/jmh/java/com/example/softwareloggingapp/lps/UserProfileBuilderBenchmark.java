@@ -0,0 +1,65 @@
+package com.example.softwareloggingapp.lps;
+
+import com.example.softwareloggingapp.benchmark.SyntheticLogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building one {@link UserProfile} with {@link UserProfileBuilder} from the classified
+ * events of a synthetic log, timestamp parsing included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserProfileBuilderBenchmark {
+
+    @Param({"100", "10000"})
+    private int operations;
+
+    private String[] operationTypes;
+    private String[] timestamps;
+
+    @Setup
+    public void sampleOperations() throws IOException {
+        OperationClassifier classifier = OperationClassifier.defaults();
+        OperationClassifier.Classification classification = new OperationClassifier.Classification();
+        List<String> types = new ArrayList<>();
+        List<String> times = new ArrayList<>();
+        byte[] log = SyntheticLogs.sample(operations * 2, SyntheticLogs.SEED); // Not every event is an operation
+        new LogRecordReader().read(new ByteArrayInputStream(log), record -> {
+            if (types.size() < operations && classifier.classify(record, classification)) {
+                types.add(classification.getOperation());
+                times.add(record.getTimestamp());
+            }
+        });
+        operationTypes = types.toArray(new String[0]);
+        timestamps = times.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public UserProfile build() {
+        UserProfileBuilder builder = new UserProfileBuilder().setEmail("user0@example.com");
+        for (int i = 0; i < operationTypes.length; i++) {
+            builder.incrementOperation(operationTypes[i], timestamps[i]);
+        }
+        return builder.finalizeProfile().build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.softwareloggingapp.spoon;
+
+import com.example.softwareloggingapp.benchmark.SyntheticLogs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the log reading done on behalf of {@link ProfileGenerator#generateAggregatedProfiles()},
+ * through {@link ProfileGenerator#ingestPending()} so that it runs on the benchmark thread: the first
+ * poll, which ingests a whole synthetic log, and the polls queued by requests once the log has been caught up with.
+ * The generator reads {@code logs/application.json} from the working directory, which must
+ * therefore be a scratch directory, as it is with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+public class ProfileGeneratorBenchmark {
+
+    private static final Path LOGS = Path.of("logs");
+    private static final Path LOG_FILE = LOGS.resolve("application.json");
+
+    /**
+     * A generator that has not read anything yet, created anew for every invocation.
+     */
+    @State(Scope.Benchmark)
+    public static class FreshGenerator {
+        @Param({"10000", "1000000"})
+        private int lines;
+
+        private ProfileGenerator generator;
+
+        @Setup(Level.Trial)
+        public void installLog() throws IOException {
+            ProfileGeneratorBenchmark.installLog(lines);
+        }
+
+        @Setup(Level.Invocation)
+        public void createGenerator() throws IOException {
+            generator = newGenerator();
+        }
+
+        @TearDown(Level.Invocation)
+        public void closeGenerator() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * A generator that has already ingested the whole log.
+     */
+    @State(Scope.Benchmark)
+    public static class CaughtUpGenerator {
+        @Param({"10000", "1000000"})
+        private int lines;
+
+        private ProfileGenerator generator;
+
+        @Setup(Level.Trial)
+        public void catchUp() throws IOException {
+            installLog(lines);
+            generator = newGenerator();
+            generator.ingestPending();
+        }
+
+        @TearDown(Level.Trial)
+        public void closeGenerator() throws IOException {
+            generator.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public void ingestWholeLog(FreshGenerator state) {
+        state.generator.ingestPending();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public void pollCaughtUp(CaughtUpGenerator state) {
+        state.generator.ingestPending();
+    }
+
+    private static void installLog(int lines) throws IOException {
+        Path source = SyntheticLogs.logFile(lines);
+        Files.createDirectories(LOGS);
+        Files.deleteIfExists(LOG_FILE);
+        Files.createLink(LOG_FILE, source.toAbsolutePath()); // Same file system, no copy
+    }
+
+    /**
+     * Creates a generator starting from scratch, with profile snapshots deferred to its closing.
+     */
+    private static ProfileGenerator newGenerator() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(LOGS, "*profiles*.json")) {
+            for (Path file : files) {
+                Files.delete(file); // Profiles and checkpoint of the previous invocation
+            }
+        }
+        return new ProfileGenerator(LOGS.toString(), TimeUnit.DAYS.toMillis(1), Integer.MAX_VALUE, 1000, false);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.softwareloggingapp.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per operation. Recording is wait-free, so every client
+ * thread records into the same report.
+ */
+class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1); // Larger values are clamped
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class); // In microseconds
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Records one completed request.
+     *
+     * @param operation    the operation
+     * @param elapsedNanos the latency of the request
+     * @param succeeded    whether the endpoint answered with a 2xx status
+     */
+    void record(Operation operation, long elapsedNanos, boolean succeeded) {
+        latencies.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_LATENCY_MICROS));
+        if (!succeeded) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Prints throughput and latency percentiles per endpoint, then for all requests.
+     *
+     * @param out            the destination
+     * @param measuredMillis the duration of the measurement
+     */
+    void print(PrintStream out, long measuredMillis) {
+        double seconds = measuredMillis / 1000.0;
+        out.printf("%-44s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errors.get(operation).sum();
+            printRow(out, operation.getEndpoint(), histogram, errors.get(operation).sum(), seconds);
+        }
+        printRow(out, "all", total, totalErrors, seconds);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long errors, double seconds) {
+        out.printf("%-44s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", label, histogram.getTotalCount(), errors,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+    }
+}
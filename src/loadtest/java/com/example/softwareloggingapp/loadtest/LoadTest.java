@@ -0,0 +1,283 @@
+package com.example.softwareloggingapp.loadtest;
+
+import com.example.softwareloggingapp.SoftwareLoggingAppApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load-test harness for the REST API. It starts the application in-process against
+ * mongo-java-server, an in-memory MongoDB stand-in speaking the wire protocol, with spans dropped
+ * instead of exported to Zipkin, so no external service is needed. Clients then issue a weighted
+ * mix of product and user requests, and throughput and latency percentiles are reported per endpoint.
+ * Clients run on virtual threads when the JVM provides them (Java 21 and later), on platform threads otherwise.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--clients=200 --duration=60 --mix=read=60,top_k=20,auth=20"
+ * </pre>
+ *
+ * Options, all optional:
+ * <ul>
+ *     <li>{@code --stack}: the web stack under test, {@code servlet} or {@code reactive} (servlet)</li>
+ *     <li>{@code --clients}: concurrent clients, each waiting for a response before sending its next request (64)</li>
+ *     <li>{@code --duration}: measured seconds (30), after {@code --warmup} unmeasured seconds (5)</li>
+ *     <li>{@code --users}: users created before the run (50)</li>
+ *     <li>{@code --products}: products read and updated during the run (500)</li>
+ *     <li>{@code --deletable}: products created for the DELETE requests (10000), once they are all
+ *     deleted, DELETE requests are replaced by CREATE requests</li>
+ *     <li>{@code --mix}: {@code operation=weight} pairs, see {@link Operation} and {@link #DEFAULT_MIX}</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final String DEFAULT_MIX = "create=10,read=40,read_all=1,update=10,delete=5,top_k=14,auth=20";
+    private static final String PASSWORD = "load-test-password";
+    private static final int SEED_BATCH_SIZE = 1000; // Products per bulk request while seeding
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper json = new ObjectMapper();
+    private final URI baseUri;
+    private final List<String> emails = new ArrayList<>();
+    private final List<String> productIds = new ArrayList<>(); // Never deleted
+    private final Queue<String> deletableIds = new ConcurrentLinkedQueue<>();
+
+    private LoadTest(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String stack = options.getOrDefault("stack", "servlet");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "30"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "5"));
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        int products = Integer.parseInt(options.getOrDefault("products", "500"));
+        int deletable = Integer.parseInt(options.getOrDefault("deletable", "10000"));
+        TrafficMix mix = TrafficMix.parse(options.getOrDefault("mix", DEFAULT_MIX));
+
+        System.setProperty("spring.devtools.restart.enabled", "false"); // No restart of the application under test
+        MongoServer mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+        ConfigurableApplicationContext application = new SpringApplicationBuilder(SoftwareLoggingAppApplication.class).run(
+                "--spring.data.mongodb.uri=mongodb://" + mongoAddress.getHostString() + ":" + mongoAddress.getPort() + "/loadtest",
+                "--server.port=0",
+                "--spring.main.web-application-type=" + stack,
+                "--tracing.exporter=none");
+        LatencyReport report;
+        try {
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            LoadTest test = new LoadTest(URI.create("http://localhost:" + port));
+            test.seed(users, products, deletable);
+            report = test.run(clients, mix, warmupSeconds, durationSeconds);
+        } finally {
+            application.close();
+            mongo.shutdownNow();
+        }
+
+        System.out.printf("%n%s stack, %d clients on %s threads, %d s measured after %d s of warmup%n", stack, clients,
+                isVirtual() ? "virtual" : "platform", durationSeconds, warmupSeconds);
+        report.print(System.out, TimeUnit.SECONDS.toMillis(durationSeconds));
+    }
+
+    /**
+     * Creates the users, the products that are read and updated, and the products that are deleted.
+     */
+    private void seed(int users, int products, int deletable) throws IOException, InterruptedException {
+        for (int i = 0; i < users; i++) {
+            String email = "load" + i + "@example.com";
+            Map<String, Object> user = Map.of("name", "Load user " + i, "age", 30, "email", email, "password", PASSWORD);
+            expectSuccess(send(post("/api/users/createUser", null, user)), "create user");
+            emails.add(email);
+        }
+        productIds.addAll(createProducts(products, "Load product"));
+        deletableIds.addAll(createProducts(deletable, "Disposable product"));
+    }
+
+    /**
+     * Creates products in bulk, then lists them to learn their IDs.
+     */
+    private List<String> createProducts(int count, String namePrefix) throws IOException, InterruptedException {
+        Set<String> existing = new HashSet<>(listProductIds());
+        for (int start = 0; start < count; start += SEED_BATCH_SIZE) {
+            List<Map<String, Object>> batch = new ArrayList<>();
+            for (int i = start; i < Math.min(count, start + SEED_BATCH_SIZE); i++) {
+                batch.add(product(null, namePrefix + " " + i));
+            }
+            expectSuccess(send(post("/api/products/bulk", emails.get(0), batch)), "seed products");
+        }
+        List<String> created = listProductIds();
+        created.removeAll(existing);
+        return created;
+    }
+
+    private List<String> listProductIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(get("/api/products/readAllProducts", emails.get(0)));
+        expectSuccess(response, "list products");
+        List<String> ids = new ArrayList<>();
+        for (JsonNode product : json.readTree(response.body())) {
+            ids.add(product.path("id").asText());
+        }
+        return ids;
+    }
+
+    /**
+     * Runs the clients for the warmup and measurement periods.
+     */
+    private LatencyReport run(int clients, TrafficMix mix, long warmupSeconds, long durationSeconds) throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService executor = newClientExecutor();
+        for (int i = 0; i < clients; i++) {
+            String email = emails.get(i % emails.size());
+            executor.execute(() -> runClient(email, mix, report, measureFrom, end));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(durationSeconds + warmupSeconds + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    private void runClient(String email, TrafficMix mix, LatencyReport report, long measureFrom, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Operation operation = mix.next(random);
+            String deletableId = operation == Operation.DELETE ? deletableIds.poll() : null;
+            if (operation == Operation.DELETE && deletableId == null) {
+                operation = Operation.CREATE; // Every disposable product was deleted
+            }
+            HttpRequest request = request(operation, email, deletableId, random);
+
+            long start = System.nanoTime();
+            boolean succeeded;
+            try {
+                succeeded = send(request).statusCode() / 100 == 2;
+            } catch (IOException e) {
+                succeeded = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (start >= measureFrom) {
+                report.record(operation, System.nanoTime() - start, succeeded);
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, String email, String deletableId, ThreadLocalRandom random) {
+        String productId = productIds.get(random.nextInt(productIds.size()));
+        return switch (operation) {
+            case CREATE -> post("/api/products/create", email, product(null, "Created product " + random.nextInt(1_000_000)));
+            case READ -> get("/api/products/readProductById/" + productId, email);
+            case READ_ALL -> get("/api/products/readAllProducts", email);
+            case UPDATE -> put("/api/products/updateProduct", email, product(productId, "Updated product " + random.nextInt(1_000_000)));
+            case DELETE -> builder("/api/products/deleteProduct/" + deletableId, email).DELETE().build();
+            case TOP_K -> get("/api/products/most-expensive-products", email);
+            case AUTH -> post("/api/users/authenticate", null, Map.of("email", email, "password", PASSWORD));
+        };
+    }
+
+    private static Map<String, Object> product(String id, String name) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> product = new HashMap<>();
+        if (id != null) {
+            product.put("id", id);
+        }
+        product.put("name", name);
+        product.put("price", random.nextInt(1_000_000) / 100.0);
+        product.put("expirationDate", "2026-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10));
+        return product;
+    }
+
+    private HttpRequest get(String path, String email) {
+        return builder(path, email).GET().build();
+    }
+
+    private HttpRequest post(String path, String email, Object body) {
+        return builder(path, email).POST(jsonBody(body)).header("Content-Type", "application/json").build();
+    }
+
+    private HttpRequest put(String path, String email, Object body) {
+        return builder(path, email).PUT(jsonBody(body)).header("Content-Type", "application/json").build();
+    }
+
+    private HttpRequest.Builder builder(String path, String email) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path));
+        return email == null ? builder : builder.header("user-email", email);
+    }
+
+    private HttpRequest.BodyPublisher jsonBody(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void expectSuccess(HttpResponse<String> response, String action) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Could not " + action + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    /**
+     * Starts one thread per client: a virtual thread on Java 21 and later, found reflectively
+     * since the project targets Java 17, and a platform thread otherwise.
+     */
+    private static ExecutorService newClientExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static boolean isVirtual() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.softwareloggingapp.loadtest;
+
+/**
+ * The kinds of request issued by the load-test clients, each mapped to one endpoint.
+ */
+enum Operation {
+    CREATE("POST /api/products/create"),
+    READ("GET /api/products/readProductById/{id}"),
+    READ_ALL("GET /api/products/readAllProducts"),
+    UPDATE("PUT /api/products/updateProduct"),
+    DELETE("DELETE /api/products/deleteProduct/{id}"),
+    TOP_K("GET /api/products/most-expensive-products"),
+    AUTH("POST /api/users/authenticate");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.softwareloggingapp.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted choice of the next operation, parsed from a specification such as
+ * {@code "read=40,create=10,update=10,delete=5,top_k=15,auth=20"}.
+ * Operations missing from the specification are never chosen.
+ */
+class TrafficMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private TrafficMix(Map<Operation, Integer> weights) {
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Parses a mix specification.
+     *
+     * @param specification comma-separated {@code operation=weight} pairs, operation names being case-insensitive
+     * @return the mix
+     * @throws IllegalArgumentException if the specification is malformed or has no positive weight
+     */
+    static TrafficMix parse(String specification) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : specification.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid traffic mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in traffic mix entry: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix has no operation: " + specification);
+        }
+        return new TrafficMix(weights);
+    }
+
+    /**
+     * Picks an operation with a probability proportional to its weight.
+     */
+    Operation next(RandomGenerator random) {
+        int draw = random.nextInt(totalWeight);
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable, draws are below the total weight");
+    }
+}
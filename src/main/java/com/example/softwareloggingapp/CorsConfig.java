@@ -1,25 +1,45 @@
 package com.example.softwareloggingapp;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class CorsConfig {
 
+    private static final String FRONTEND_ORIGIN = "http://localhost:4200"; // Angular frontend
+    private static final String[] ALLOWED_METHODS = {"GET", "POST", "PUT", "DELETE", "OPTIONS"};
+
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public WebMvcConfigurer corsConfigurer() {
         return new WebMvcConfigurer() {
             @Override
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**") // Allow all endpoints
-                        .allowedOrigins("http://localhost:4200") // Allow requests from Angular frontend
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                        .allowedOrigins(FRONTEND_ORIGIN) // Allow requests from Angular frontend
+                        .allowedMethods(ALLOWED_METHODS)
                         .allowedHeaders("*")
                         .allowCredentials(true); // Allow cookies if needed
             }
         };
     }
-}
 
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebFluxConfigurer reactiveCorsConfigurer() {
+        return new WebFluxConfigurer() {
+            @Override
+            public void addCorsMappings(org.springframework.web.reactive.config.CorsRegistry registry) {
+                registry.addMapping("/**") // Same policy on the reactive stack
+                        .allowedOrigins(FRONTEND_ORIGIN)
+                        .allowedMethods(ALLOWED_METHODS)
+                        .allowedHeaders("*")
+                        .allowCredentials(true);
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.softwareloggingapp;
+
+import com.example.softwareloggingapp.model.Product;
+import com.example.softwareloggingapp.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Configuration class creating the MongoDB indexes declared on the model classes,
+ * such as the unique index on the user email.
+ * Indexes are created in the background once the application is ready, so that
+ * startup does not wait for, or fail without, a reachable database.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexConfig {
+
+    // Documents whose @Indexed fields must be backed by an index
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(User.class, Product.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Ensures that the declared indexes exist. Creating an index that already exists is a no-op.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        CompletableFuture.runAsync(() -> {
+            IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+            for (Class<?> document : INDEXED_DOCUMENTS) {
+                try {
+                    IndexOperations indexOperations = mongoTemplate.indexOps(document);
+                    resolver.resolveIndexFor(document).forEach(indexOperations::ensureIndex);
+                } catch (RuntimeException e) {
+                    log.warn("Could not create the indexes of {}: {}", document.getSimpleName(), e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.softwareloggingapp;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.TransportSettings;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoConnectionDetails;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.autoconfigure.mongo.StandardMongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class giving the blocking and the reactive MongoDB clients a single Netty
+ * event loop, owned and shut down by the application context.
+ * Without it, Spring Boot's reactive auto-configuration creates an event loop each time its
+ * settings customizer runs, i.e. once per client, but only shuts down the last one: the other
+ * one's threads kept the JVM alive after the context was closed.
+ * Defining the client settings turns off Boot's own settings beans, so the customizer applying
+ * the spring.data.mongodb.* properties is registered here instead.
+ */
+@Configuration
+public class MongoTransportConfig {
+
+    @Bean(destroyMethod = "shutdownGracefully")
+    public EventLoopGroup mongoEventLoopGroup() {
+        return new NioEventLoopGroup(0, new DefaultThreadFactory("mongo-client", true)); // Daemon threads
+    }
+
+    @Bean
+    public MongoClientSettings mongoClientSettings(EventLoopGroup mongoEventLoopGroup) {
+        return MongoClientSettings.builder()
+                .transportSettings(TransportSettings.nettyBuilder().eventLoopGroup(mongoEventLoopGroup).build())
+                .build();
+    }
+
+    @Bean
+    public StandardMongoClientSettingsBuilderCustomizer mongoPropertiesCustomizer(MongoProperties properties,
+                                                                                 MongoConnectionDetails connectionDetails,
+                                                                                 ObjectProvider<SslBundles> sslBundles) {
+        return new StandardMongoClientSettingsBuilderCustomizer(connectionDetails.getConnectionString(),
+                properties.getUuidRepresentation(), properties.getSsl(), sslBundles.getIfAvailable());
+    }
+}
@@ -7,7 +7,9 @@ import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
 import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,23 +17,32 @@ import org.springframework.context.annotation.Configuration;
  * Configuration class for OpenTelemetry integration.
  * This class sets up tracing for the application using OpenTelemetry SDK
  * and configures it to export tracing data to a Zipkin endpoint.
+ * With {@code tracing.exporter=none} spans are still created and batched, but discarded instead
+ * of exported, e.g. for load tests without a Zipkin server.
  */
 @Configuration
 public class OpenTelemetryConfig {
 
     /**
      * Configures and provides an instance of OpenTelemetry.
-     * Sets up a Zipkin exporter, associates the tracing data with a resource name,
+     * Sets up the span exporter, associates the tracing data with a resource name,
      * and configures the SDK tracer provider.
      *
+     * @param exporter       the span exporter, "zipkin" or "none"
+     * @param zipkinEndpoint the Zipkin endpoint receiving the spans
      * @return the configured OpenTelemetry instance.
      */
     @Bean
-    public OpenTelemetry openTelemetry() {
-        // Configure the Zipkin exporter with the specified endpoint
-        ZipkinSpanExporter zipkinExporter = ZipkinSpanExporter.builder()
-                .setEndpoint("http://localhost:9414/api/v2/spans")
-                .build();
+    public OpenTelemetry openTelemetry(@Value("${tracing.exporter:zipkin}") String exporter,
+                                       @Value("${tracing.zipkin.endpoint:http://localhost:9414/api/v2/spans}") String zipkinEndpoint) {
+        SpanExporter spanExporter = switch (exporter) {
+            // Configure the Zipkin exporter with the specified endpoint
+            case "zipkin" -> ZipkinSpanExporter.builder()
+                    .setEndpoint(zipkinEndpoint)
+                    .build();
+            case "none" -> SpanExporter.composite(); // Exporter of no destination, drops every span
+            default -> throw new IllegalArgumentException("Unknown tracing exporter: " + exporter);
+        };
 
         // Define the resource with a service name for trace attribution
         Resource serviceResource = Resource.builder()
@@ -40,7 +51,7 @@ public class OpenTelemetryConfig {
 
         // Configure the SDK tracer provider with the batch span processor and service resource
         SdkTracerProvider sdkTracerProvider = SdkTracerProvider.builder()
-                .addSpanProcessor(BatchSpanProcessor.builder(zipkinExporter).build()) // Batch span processor for efficient export
+                .addSpanProcessor(BatchSpanProcessor.builder(spanExporter).build()) // Batch span processor for efficient export
                 .setResource(serviceResource) // Associate traces with the defined service resource
                 .build();
 
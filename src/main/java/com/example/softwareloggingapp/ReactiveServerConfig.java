@@ -0,0 +1,21 @@
+package com.example.softwareloggingapp;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class running the reactive stack (spring.main.web-application-type=reactive)
+ * on Reactor Netty. Spring Boot would otherwise prefer Tomcat, which the servlet stack puts on
+ * the classpath, so the two stacks would share the same server and thread model.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory(); // server.* properties are applied by Boot's customizers
+    }
+}
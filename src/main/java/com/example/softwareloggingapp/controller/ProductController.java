@@ -1,16 +1,31 @@
 package com.example.softwareloggingapp.controller;
 
+import com.example.softwareloggingapp.model.BulkResult;
+import com.example.softwareloggingapp.model.CursorPage;
 import com.example.softwareloggingapp.model.Product;
 import com.example.softwareloggingapp.service.ProductService;
 import com.example.softwareloggingapp.spoon.ProfileGenerator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
-import org.slf4j.MDC;
+
+import static com.example.softwareloggingapp.logging.OperationFields.operation;
 
 /**
  * REST controller for managing products.
@@ -19,69 +34,219 @@ import org.slf4j.MDC;
  */
 @RestController
 @RequestMapping("/api/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 public class ProductController {
 
     private final ProductService productService;
     private final ProfileGenerator profileGenerator;
+    private final ObjectMapper objectMapper;
+
+    // Each operation is logged once it is over, successful or not, so failed attempts are recorded too
 
     @PostMapping("/create")
     public ResponseEntity<?> addProduct(@RequestHeader("user-email") String userEmail, @RequestBody Product product) {
-        MDC.put("user", userEmail); // Sets the user dynamically for each log
-        log.info("User {} performed WRITE operation: adding product {}", userEmail, product);
-        productService.addProduct(product);
-        profileGenerator.generateAggregatedProfiles();
-        MDC.clear(); // Clear MDC after the log
-        return ResponseEntity.status(HttpStatus.CREATED).body("Product added successfully");
+        long start = System.nanoTime();
+        Product savedProduct = null;
+        try {
+            savedProduct = productService.addProduct(product);
+            return ResponseEntity.status(HttpStatus.CREATED).body("Product added successfully");
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Product already exists!"); // Creation never overwrites
+        } finally {
+            log.info("User {} performed WRITE operation: adding product {}", userEmail, product,
+                    operation("WRITE", userEmail, "product", savedProduct != null ? savedProduct.getId() : product.getId(),
+                            start, savedProduct != null)); // Structured fields for the parsers
+            profileGenerator.generateAggregatedProfiles();
+        }
     }
 
     @GetMapping("/readProductById/{id}")
     public Product getProductById(@RequestHeader("user-email") String userEmail, @PathVariable String id) {
-        MDC.put("user", userEmail);
-        log.info("User {} performed READ operation: fetching product with ID {}", userEmail, id);
-        Product product = productService.getProductById(id);
-        profileGenerator.generateAggregatedProfiles();
-        MDC.clear();
-        return product;
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            Product product = productService.getProductById(id);
+            succeeded = true;
+            return product;
+        } finally {
+            log.info("User {} performed READ operation: fetching product with ID {}", userEmail, id,
+                    operation("READ", userEmail, "product", id, start, succeeded));
+            profileGenerator.generateAggregatedProfiles();
+        }
     }
 
     @DeleteMapping("/deleteProduct/{id}")
     public void deleteProduct(@RequestHeader("user-email") String userEmail, @PathVariable String id) {
-        MDC.put("user", userEmail);
-        log.warn("User {} performed DELETE operation: deleting product with ID {}", userEmail, id);
-        productService.deleteProduct(id);
-        profileGenerator.generateAggregatedProfiles();
-        MDC.clear();
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            productService.deleteProduct(id);
+            succeeded = true;
+        } finally {
+            log.warn("User {} performed DELETE operation: deleting product with ID {}", userEmail, id,
+                    operation("DELETE", userEmail, "product", id, start, succeeded));
+            profileGenerator.generateAggregatedProfiles();
+        }
     }
 
     @PutMapping("/updateProduct")
     public Product updateProduct(@RequestHeader("user-email") String userEmail, @RequestBody Product product) {
-        MDC.put("user", userEmail);
-        log.info("User {} performed WRITE operation: updating product {}", userEmail, product);
-        Product updatedProduct = productService.updateProduct(product);
-        profileGenerator.generateAggregatedProfiles();
-        MDC.clear();
-        return updatedProduct;
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            Product updatedProduct = productService.updateProduct(product);
+            succeeded = true;
+            return updatedProduct;
+        } finally {
+            log.info("User {} performed WRITE operation: updating product {}", userEmail, product,
+                    operation("WRITE", userEmail, "product", product.getId(), start, succeeded));
+            profileGenerator.generateAggregatedProfiles();
+        }
     }
 
     @GetMapping("/readAllProducts")
     public List<Product> getAllProducts(@RequestHeader("user-email") String userEmail) {
-        MDC.put("user", userEmail);
-        log.info("User {} performed READ operation: fetching all products", userEmail);
-        List<Product> products = productService.getAllProducts();
-        profileGenerator.generateAggregatedProfiles();
-        MDC.clear();
-        return products;
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            List<Product> products = productService.getAllProducts();
+            succeeded = true;
+            return products;
+        } finally {
+            log.info("User {} performed READ operation: fetching all products", userEmail,
+                    operation("READ", userEmail, "product", null, start, succeeded));
+            profileGenerator.generateAggregatedProfiles();
+        }
+    }
+
+    // Bulk endpoints accept a JSON array or NDJSON, read one item at a time while the batches are written.
+    // Each written batch is logged, failing if any of its operations failed; a request failing between
+    // batches, e.g. on malformed input, logs one more failed operation.
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BulkResult bulkAddProducts(@RequestHeader("user-email") String userEmail,
+                                      @RequestParam(defaultValue = "true") boolean ordered,
+                                      @RequestParam(defaultValue = "0") int batchSize,
+                                      InputStream body) throws IOException {
+        long[] batchStart = {System.nanoTime()};
+        try (MappingIterator<Product> products = objectMapper.readerFor(Product.class).readValues(body)) {
+            return productService.bulkAddProducts(products, ordered, batchSize, batch -> {
+                log.info("User {} performed WRITE operation: bulk adding {} products, {} inserted, {} failed",
+                        userEmail, batch.getReceived(), batch.getInserted(), batch.getFailed(),
+                        operation("WRITE", userEmail, "product", null, batchStart[0], batch.getFailed() == 0));
+                batchStart[0] = System.nanoTime();
+            });
+        } catch (IOException | RuntimeException e) {
+            log.info("User {} performed WRITE operation: bulk adding products failed", userEmail,
+                    operation("WRITE", userEmail, "product", null, batchStart[0], false));
+            throw e;
+        } finally {
+            profileGenerator.generateAggregatedProfiles();
+        }
+    }
+
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BulkResult bulkUpdateProducts(@RequestHeader("user-email") String userEmail,
+                                         @RequestParam(defaultValue = "true") boolean ordered,
+                                         @RequestParam(defaultValue = "0") int batchSize,
+                                         InputStream body) throws IOException {
+        long[] batchStart = {System.nanoTime()};
+        try (MappingIterator<Product> products = objectMapper.readerFor(Product.class).readValues(body)) {
+            return productService.bulkUpdateProducts(products, ordered, batchSize, batch -> {
+                log.info("User {} performed WRITE operation: bulk updating {} products, {} matched, {} failed",
+                        userEmail, batch.getReceived(), batch.getMatched(), batch.getFailed(),
+                        operation("WRITE", userEmail, "product", null, batchStart[0], batch.getFailed() == 0));
+                batchStart[0] = System.nanoTime();
+            });
+        } catch (IOException | RuntimeException e) {
+            log.info("User {} performed WRITE operation: bulk updating products failed", userEmail,
+                    operation("WRITE", userEmail, "product", null, batchStart[0], false));
+            throw e;
+        } finally {
+            profileGenerator.generateAggregatedProfiles();
+        }
+    }
+
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BulkResult bulkDeleteProducts(@RequestHeader("user-email") String userEmail,
+                                         @RequestParam(defaultValue = "true") boolean ordered,
+                                         @RequestParam(defaultValue = "0") int batchSize,
+                                         InputStream body) throws IOException {
+        long[] batchStart = {System.nanoTime()};
+        try (MappingIterator<String> ids = objectMapper.readerFor(String.class).readValues(body)) {
+            return productService.bulkDeleteProducts(ids, ordered, batchSize, batch -> {
+                log.warn("User {} performed DELETE operation: bulk deleting {} products, {} deleted, {} failed",
+                        userEmail, batch.getReceived(), batch.getDeleted(), batch.getFailed(),
+                        operation("DELETE", userEmail, "product", null, batchStart[0], batch.getFailed() == 0));
+                batchStart[0] = System.nanoTime();
+            });
+        } catch (IOException | RuntimeException e) {
+            log.warn("User {} performed DELETE operation: bulk deleting products failed", userEmail,
+                    operation("DELETE", userEmail, "product", null, batchStart[0], false));
+            throw e;
+        } finally {
+            profileGenerator.generateAggregatedProfiles();
+        }
+    }
+
+    @GetMapping("/readProductsPage")
+    public CursorPage<Product> getProductsPage(@RequestHeader("user-email") String userEmail,
+                                               @RequestParam(defaultValue = "id") String sort,
+                                               @RequestParam(defaultValue = "50") int limit,
+                                               @RequestParam(required = false) String token) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            CursorPage<Product> page = productService.getProductsPage(sort, limit, token);
+            succeeded = true;
+            return page;
+        } finally {
+            log.info("User {} performed READ operation: fetching products page sorted by {}", userEmail, sort,
+                    operation("READ", userEmail, "product", null, start, succeeded));
+            profileGenerator.generateAggregatedProfiles();
+        }
+    }
+
+    @GetMapping(value = "/streamAllProducts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts(@RequestHeader("user-email") String userEmail) {
+        // One JSON document per line, written while the database cursor is being read
+        ObjectWriter writer = objectMapper.writerFor(Product.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            long start = System.nanoTime();
+            boolean succeeded = false;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                productService.streamAllProducts(product -> {
+                    try {
+                        writer.writeValue(generator, product);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // Client went away, stop reading the cursor
+                    }
+                });
+                succeeded = true;
+            } finally {
+                log.info("User {} performed READ operation: fetching all products as a stream", userEmail,
+                        operation("READ", userEmail, "product", null, start, succeeded)); // Logged once the stream is over
+                profileGenerator.generateAggregatedProfiles();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/most-expensive-products")
     public List<Product> getTopExpensiveProducts(@RequestHeader("user-email") String userEmail) {
-        MDC.put("user", userEmail);
-        log.info("User {} searched for the most expensive products", userEmail);
-        List<Product> expensiveProducts = productService.getTopExpensiveProducts();
-        profileGenerator.generateAggregatedProfiles();
-        MDC.clear();
-        return expensiveProducts;
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            List<Product> expensiveProducts = productService.getTopExpensiveProducts();
+            succeeded = true;
+            return expensiveProducts;
+        } finally {
+            log.info("User {} searched for the most expensive products", userEmail,
+                    operation("MOST_EXPENSIVE_SEARCH", userEmail, "product", null, start, succeeded));
+            profileGenerator.generateAggregatedProfiles();
+        }
     }
 }
@@ -1,23 +1,39 @@
 package com.example.softwareloggingapp.controller;
 
+import com.example.softwareloggingapp.model.CursorPage;
 import com.example.softwareloggingapp.model.User;
+import com.example.softwareloggingapp.model.UserSummary;
 import com.example.softwareloggingapp.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
+import static com.example.softwareloggingapp.logging.OperationFields.operation;
+
 /**
  * Controller class responsible for handling user-related API requests.
  */
 @RestController
 @RequestMapping("/api/users") // Base URL for user-related endpoints
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor // Automatically generates a constructor for required fields
 @Slf4j // Enables SLF4J logging for this class
 public class UserController {
     private final UserService userService; // Dependency for user-related operations
+    private final ObjectMapper objectMapper; // Serializes streamed users
 
     /**
      * Endpoint to create a new user.
@@ -27,9 +43,19 @@ public class UserController {
     @PostMapping("/createUser")
     public User createUser(@RequestBody User user) {
         log.info("Request to create user: {}", user);
-        User createdUser = userService.createUser(user); // Delegate to service layer
-        log.info("User created successfully: {}", createdUser);
-        return createdUser;
+        long start = System.nanoTime();
+        User createdUser = null;
+        try {
+            createdUser = userService.createUser(user); // Delegate to service layer
+            return createdUser;
+        } finally {
+            if (createdUser != null) {
+                log.info("User created successfully: {}", createdUser,
+                        operation("CREATE", createdUser.getEmail(), "user", createdUser.getId(), start, true));
+            } else {
+                log.warn("Failed to create user: {}", user, operation("CREATE", user.getEmail(), "user", user.getId(), start, false));
+            }
+        }
     }
 
     /**
@@ -39,9 +65,55 @@ public class UserController {
     @GetMapping("/readAllUsers")
     public List<User> getAllUsers() {
         log.info("Request to fetch all users.");
-        List<User> users = userService.getAllUsers(); // Retrieve all users via the service
-        log.info("Total users fetched: {}", users.size());
-        return users;
+        long start = System.nanoTime();
+        List<User> users = null;
+        try {
+            users = userService.getAllUsers(); // Retrieve all users via the service
+            return users;
+        } finally {
+            if (users != null) {
+                log.info("Total users fetched: {}", users.size(), operation("READ", null, "user", null, start, true));
+            } else {
+                log.warn("Failed to fetch all users.", operation("READ", null, "user", null, start, false));
+            }
+        }
+    }
+
+    /**
+     * Endpoint to fetch one page of users, without their passwords.
+     * @param limit The maximum number of users in the page.
+     * @param token The continuation token returned with the previous page, if any.
+     * @return The page of users and the token of the next page.
+     */
+    @GetMapping("/readUsersPage")
+    public CursorPage<UserSummary> getUsersPage(@RequestParam(defaultValue = "50") int limit,
+                                                @RequestParam(required = false) String token) {
+        log.info("Request to fetch a page of {} users.", limit);
+        return userService.getUsersPage(limit, token);
+    }
+
+    /**
+     * Endpoint to stream all users, without their passwords, as newline-delimited JSON.
+     * Users are written as they are read from the database cursor.
+     * @return The streamed response body.
+     */
+    @GetMapping(value = "/streamAllUsers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.info("Request to stream all users.");
+        ObjectWriter writer = objectMapper.writerFor(UserSummary.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                userService.streamUserSummaries(user -> {
+                    try {
+                        writer.writeValue(generator, user);
+                        generator.writeRaw('\n'); // One user per line
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // Client went away, stop reading the cursor
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -54,7 +126,15 @@ public class UserController {
         String email = credentials.get("email"); // Extract email from the request body
         String password = credentials.get("password"); // Extract password from the request body
 
-        log.info("Authentication attempt for email: {}", email);
-        return userService.authenticate(email, password); // Validate credentials via the service
+        long start = System.nanoTime();
+        boolean authenticated = false;
+        try {
+            authenticated = userService.authenticate(email, password); // Validate credentials via the service
+            return authenticated;
+        } finally {
+            // Logged whether the credentials were wrong or the check failed, the outcome tells them from a success
+            log.info("Authentication attempt for email: {}", email,
+                    operation("AUTHENTICATE", email, "user", null, start, authenticated));
+        }
     }
 }
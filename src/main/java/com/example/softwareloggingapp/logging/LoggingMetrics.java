@@ -0,0 +1,44 @@
+package com.example.softwareloggingapp.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Publishes the number of events dropped by each {@link PolicyAsyncAppender} as the
+ * "logging.events.dropped" metric, tagged with the appender name.
+ */
+@Component
+public class LoggingMetrics {
+
+    /**
+     * Registers a counter for every asynchronous appender attached to a logger.
+     *
+     * @param meterRegistry the registry receiving the counters
+     */
+    public LoggingMetrics(MeterRegistry meterRegistry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+            return; // Not running on logback
+        }
+        Set<String> registered = new HashSet<>();
+        for (Logger logger : loggerContext.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders(); appenders.hasNext(); ) {
+                if (appenders.next() instanceof PolicyAsyncAppender appender && registered.add(appender.getName())) {
+                    FunctionCounter.builder("logging.events.dropped", appender, PolicyAsyncAppender::getDroppedCount)
+                            .description("Log events dropped because the appender's ring buffer was full")
+                            .tag("appender", appender.getName())
+                            .register(meterRegistry);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.softwareloggingapp.logging;
+
+import net.logstash.logback.argument.StructuredArgument;
+import net.logstash.logback.argument.StructuredArguments;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the structured fields attached to operation log events. Passed as an extra argument
+ * after the message arguments, they are not rendered in the message but written as top-level
+ * JSON fields by the {@code <arguments/>} provider, so log readers do not have to parse messages:
+ * <pre>
+ * {"message":"User a@b.c performed READ operation: ...", "op":"READ", "user":"a@b.c",
+ *  "entity":"product", "entityId":"42", "outcome":"success", "durationMs":3, ...}
+ * </pre>
+ * Operations are logged once they are over, whether they succeeded or failed, so that every
+ * attempt is recorded along with its outcome.
+ */
+public final class OperationFields {
+
+    private OperationFields() {
+    }
+
+    /**
+     * Creates the fields of an operation.
+     *
+     * @param op         the operation, e.g. READ, WRITE, DELETE or MOST_EXPENSIVE_SEARCH
+     * @param user       the email of the acting user, or null if unknown
+     * @param entity     the kind of entity operated on, e.g. "product"
+     * @param entityId   the ID of the entity, or null for operations on several entities
+     * @param startNanos the {@link System#nanoTime()} at which the operation started
+     * @param succeeded  whether the operation succeeded, written as the outcome "success" or "failure"
+     * @return a structured argument holding the fields
+     */
+    public static StructuredArgument operation(String op, String user, String entity, Object entityId, long startNanos,
+                                               boolean succeeded) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("op", op);
+        if (user != null) {
+            fields.put("user", user);
+        }
+        fields.put("entity", entity);
+        if (entityId != null) {
+            fields.put("entityId", entityId);
+        }
+        fields.put("outcome", succeeded ? "success" : "failure");
+        fields.put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return StructuredArguments.entries(fields);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.softwareloggingapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.util.Duration;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous appender handing events to its delegate appenders through a lock-free ring buffer.
+ * The calling thread only copies the event into the buffer; encoding and writing happen on the
+ * appender's own thread, and delegates with {@code immediateFlush=false} are flushed once per batch.
+ *
+ * When the ring buffer is full, the overflow policy decides what happens to the new event:
+ * <ul>
+ *     <li>BLOCK: wait for free space, no event is lost.</li>
+ *     <li>DROP_INFO: drop DEBUG and INFO events, wait for free space for WARN and ERROR events.</li>
+ *     <li>SAMPLE: like DROP_INFO, but keep one in {@code sampleRate} of the DEBUG and INFO events.</li>
+ * </ul>
+ * The number of dropped events is available from {@link #getDroppedCount()}.
+ */
+public class PolicyAsyncAppender extends LoggingEventAsyncDisruptorAppender {
+
+    /**
+     * What to do with an event arriving while the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        BLOCK, DROP_INFO, SAMPLE
+    }
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private int sampleRate = 10; // Under SAMPLE, one in sampleRate DEBUG/INFO events is kept
+    private final AtomicLong overflowCount = new AtomicLong(); // DEBUG/INFO events that found the buffer full
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public PolicyAsyncAppender() {
+        setAppendTimeout(Duration.buildByMilliseconds(-1)); // Events that are not dropped wait for free space
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (overflowPolicy != OverflowPolicy.BLOCK
+                && !event.getLevel().isGreaterOrEqual(Level.WARN)
+                && getDisruptor().getRingBuffer().remainingCapacity() == 0
+                && !(overflowPolicy == OverflowPolicy.SAMPLE && overflowCount.getAndIncrement() % sampleRate == 0)) {
+            long dropped = droppedCount.incrementAndGet();
+            if (dropped == 1 || dropped % getDroppedWarnFrequency() == 0) {
+                addWarn("Ring buffer full, " + dropped + " DEBUG/INFO events dropped so far (policy " + overflowPolicy + ")");
+            }
+            return;
+        }
+        super.append(event);
+    }
+
+    /**
+     * Returns the number of events dropped because the ring buffer was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.softwareloggingapp.lps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A fixed-capacity ring buffer holding the most recent activities of a user.
+ * Once full, adding an activity evicts the oldest one and hands it back to the caller,
+ * so that it can be folded into coarser counters instead of being kept forever.
+ * Storage grows with the number of retained activities, so users with few activities
+ * do not pay for the full capacity.
+ *
+ * @param <T> the type of the retained activities
+ */
+public class ActivityRing<T> {
+
+    private static final int INITIAL_SIZE = 8;
+
+    private final int capacity;
+    private Object[] elements;
+    private int head; // Index of the oldest element, stays 0 until the ring is full
+    private int size; // Number of retained elements
+
+    /**
+     * Creates a ring retaining at most {@code capacity} activities.
+     *
+     * @param capacity the maximum number of retained activities, at least 1
+     */
+    public ActivityRing(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.elements = new Object[Math.min(this.capacity, INITIAL_SIZE)];
+    }
+
+    /**
+     * Appends an activity, evicting the oldest one if the ring is full.
+     *
+     * @param element the activity to append
+     * @return the evicted activity, or null if nothing was evicted
+     */
+    @SuppressWarnings("unchecked")
+    public T add(T element) {
+        if (size < capacity) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, Math.min(capacity, size * 2));
+            }
+            elements[size++] = element; // Nothing was evicted yet, so the oldest element is at index 0
+            return null;
+        }
+        T evicted = (T) elements[head];
+        elements[head] = element;
+        head = (head + 1) % elements.length;
+        return evicted;
+    }
+
+    /**
+     * Inserts an activity at its place in the given order, evicting the first one if the ring is full.
+     * Activities are expected to arrive almost in order, so the insertion only moves the few
+     * activities that sort after the new one.
+     *
+     * @param element the activity to insert
+     * @param order   the order in which the activities are kept
+     * @return the evicted activity, which is the inserted one if it sorts before every retained
+     * activity of a full ring, or null if nothing was evicted
+     */
+    public T addOrdered(T element, Comparator<? super T> order) {
+        if (size == capacity && order.compare(element, get(0)) < 0) {
+            return element;
+        }
+        T evicted = add(element);
+        for (int i = size - 1; i > 0 && order.compare(get(i - 1), get(i)) > 0; i--) {
+            int previous = (head + i - 1) % elements.length;
+            int current = (head + i) % elements.length;
+            Object swapped = elements[previous];
+            elements[previous] = elements[current];
+            elements[current] = swapped;
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns a retained activity.
+     *
+     * @param index the position of the activity, 0 being the oldest
+     * @return the activity
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (T) elements[(head + index) % elements.length];
+    }
+
+    /**
+     * Returns the retained activities, oldest first.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add((T) elements[(head + i) % elements.length]);
+        }
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.softwareloggingapp.lps;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-minute, per-hour and per-day activity counters for activities that are no longer
+ * retained individually. Each granularity keeps a bounded number of the most recent buckets,
+ * so long-term summaries remain available while memory stays bounded.
+ * Buckets are stored in sorted primitive arrays that grow with the number of buckets in use,
+ * 12 bytes per bucket, so rarely active users only pay for the buckets they have.
+ */
+public class ActivityRollup {
+
+    public static final int MAX_MINUTE_BUCKETS = 24 * 60; // One day of minutes
+    public static final int MAX_HOUR_BUCKETS = 31 * 24; // One month of hours
+    public static final int MAX_DAY_BUCKETS = 10 * 366; // Ten years of days
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final Buckets perMinute = new Buckets(MAX_MINUTE_BUCKETS);
+    private final Buckets perHour = new Buckets(MAX_HOUR_BUCKETS);
+    private final Buckets perDay = new Buckets(MAX_DAY_BUCKETS);
+
+    /**
+     * Counts one activity in the minute, hour and day buckets containing its timestamp.
+     *
+     * @param epochMillis the activity's timestamp
+     */
+    public void fold(long epochMillis) {
+        perMinute.add(Math.floorDiv(epochMillis, MINUTE) * MINUTE, 1);
+        perHour.add(Math.floorDiv(epochMillis, HOUR) * HOUR, 1);
+        perDay.add(Math.floorDiv(epochMillis, DAY) * DAY, 1);
+    }
+
+    /**
+     * Adds every counter of another rollup to this one.
+     *
+     * @param other the rollup to merge in
+     */
+    public void merge(ActivityRollup other) {
+        perMinute.addAll(other.perMinute);
+        perHour.addAll(other.perHour);
+        perDay.addAll(other.perDay);
+    }
+
+    /**
+     * Returns the per-minute counters, oldest bucket first, as a copy keyed by bucket start in epoch millis.
+     */
+    public Map<Long, Integer> getPerMinute() {
+        return perMinute.toMap();
+    }
+
+    /**
+     * Returns the per-hour counters, oldest bucket first, as a copy keyed by bucket start in epoch millis.
+     */
+    public Map<Long, Integer> getPerHour() {
+        return perHour.toMap();
+    }
+
+    /**
+     * Returns the per-day counters, oldest bucket first, as a copy keyed by bucket start in epoch millis.
+     */
+    public Map<Long, Integer> getPerDay() {
+        return perDay.toMap();
+    }
+
+    /**
+     * Adds a count to a bucket of the given granularity, e.g. when restoring saved counters.
+     *
+     * @param granularity one of "perMinute", "perHour" or "perDay"
+     * @param bucket      the bucket start, in epoch millis
+     * @param count       the count to add
+     */
+    public void restore(String granularity, long bucket, int count) {
+        switch (granularity) {
+            case "perMinute" -> perMinute.add(bucket, count);
+            case "perHour" -> perHour.add(bucket, count);
+            case "perDay" -> perDay.add(bucket, count);
+            default -> throw new IllegalArgumentException("Unknown rollup granularity: " + granularity);
+        }
+    }
+
+    /**
+     * Formats the counters with ISO-8601 bucket starts, for JSON output.
+     *
+     * @return the counters keyed by granularity, then by bucket start
+     */
+    public Map<String, Map<String, Integer>> toDocument() {
+        Map<String, Map<String, Integer>> document = new LinkedHashMap<>();
+        document.put("perMinute", perMinute.format());
+        document.put("perHour", perHour.format());
+        document.put("perDay", perDay.format());
+        return document;
+    }
+
+    /**
+     * The counters of one granularity: bucket starts in ascending order, with their counts at the same index.
+     * Activities are folded roughly in chronological order, so a count almost always goes to the
+     * newest bucket or to a new bucket after it.
+     */
+    private static class Buckets {
+        private static final int INITIAL_SIZE = 4;
+
+        private final int maxBuckets;
+        private long[] starts = new long[0]; // Bucket starts in epoch millis, ascending
+        private int[] counts = new int[0];
+        private int size;
+
+        Buckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        void add(long bucket, int count) {
+            if (size > 0 && starts[size - 1] == bucket) {
+                counts[size - 1] += count; // The common case, the newest bucket
+                return;
+            }
+            int index = size > 0 && bucket > starts[size - 1] ? size : Arrays.binarySearch(starts, 0, size, bucket);
+            if (index >= 0 && index < size) {
+                counts[index] += count;
+                return;
+            }
+            int insertion = index >= 0 ? index : -index - 1;
+            if (size == maxBuckets) {
+                if (insertion == 0) {
+                    return; // Older than every retained bucket, it would be dropped right away
+                }
+                System.arraycopy(starts, 1, starts, 0, insertion - 1); // Drop the oldest bucket
+                System.arraycopy(counts, 1, counts, 0, insertion - 1);
+                insertion--;
+            } else {
+                if (size == starts.length) {
+                    int capacity = Math.min(maxBuckets, Math.max(INITIAL_SIZE, size * 2));
+                    starts = Arrays.copyOf(starts, capacity);
+                    counts = Arrays.copyOf(counts, capacity);
+                }
+                System.arraycopy(starts, insertion, starts, insertion + 1, size - insertion);
+                System.arraycopy(counts, insertion, counts, insertion + 1, size - insertion);
+                size++;
+            }
+            starts[insertion] = bucket;
+            counts[insertion] = count;
+        }
+
+        void addAll(Buckets other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.starts[i], other.counts[i]);
+            }
+        }
+
+        Map<Long, Integer> toMap() {
+            Map<Long, Integer> buckets = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                buckets.put(starts[i], counts[i]);
+            }
+            return buckets;
+        }
+
+        Map<String, Integer> format() {
+            Map<String, Integer> formatted = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                formatted.put(Instant.ofEpochMilli(starts[i]).toString(), counts[i]);
+            }
+            return formatted;
+        }
+    }
+}
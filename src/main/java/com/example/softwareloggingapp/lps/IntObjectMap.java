@@ -0,0 +1,120 @@
+package com.example.softwareloggingapp.lps;
+
+import java.util.function.IntFunction;
+
+/**
+ * A hash map from non-negative int keys, such as {@link SymbolTable} IDs, to non-null values.
+ * Keys are stored unboxed in open-addressing arrays, so an entry costs two array slots
+ * instead of a boxed key and a node object.
+ *
+ * @param <V> the type of the values
+ */
+public class IntObjectMap<V> {
+
+    private static final int INITIAL_CAPACITY = 16; // Must be a power of two
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY]; // Null marks an empty slot
+    private int size;
+
+    /**
+     * Visits the entries of a map.
+     *
+     * @param <V> the type of the values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        return (V) values[find(key)];
+    }
+
+    /**
+     * Returns the value of a key, first computing and storing it if the key is absent.
+     *
+     * @param key             the key
+     * @param mappingFunction creates the value of an absent key, must not return null
+     * @return the current value of the key
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(int key, IntFunction<V> mappingFunction) {
+        int slot = find(key);
+        if (values[slot] == null) {
+            V value = mappingFunction.apply(key);
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return value;
+        }
+        return (V) values[slot];
+    }
+
+    /**
+     * Visits every entry, in no particular order.
+     *
+     * @param consumer receives each key and its value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null) {
+                consumer.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Returns the slot holding a key, or the empty slot where it would be inserted.
+     */
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Spreads consecutive IDs over the table.
+     */
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private void resize() {
+        int[] previousKeys = keys;
+        Object[] previousValues = values;
+        keys = new int[previousKeys.length * 2];
+        values = new Object[previousValues.length * 2];
+        for (int slot = 0; slot < previousKeys.length; slot++) {
+            if (previousValues[slot] != null) {
+                int target = find(previousKeys[slot]);
+                keys[target] = previousKeys[slot];
+                values[target] = previousValues[slot];
+            }
+        }
+    }
+}
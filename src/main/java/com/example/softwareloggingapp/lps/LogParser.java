@@ -2,88 +2,183 @@ package com.example.softwareloggingapp.lps;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The LogParser class processes logs to organize operations by type and display the user's profile.
  */
 public class LogParser {
 
-    public static void main(String[] args) {
-        String logFilePath = "logs/application.json";
-        String outputFilePath = "logs/structured_lps_profiles.json";
+    private static final String LOG_FILE_PATH = "logs/application.json";
+    private static final String OUTPUT_FILE_PATH = "logs/structured_lps_profiles.lps"; // Binary store, see ProfileStoreWriter
+    private static final String CHECKPOINT_FILE_PATH = "logs/structured_lps_checkpoint.json";
+    private static final long FOLLOW_INTERVAL_MS = 1000; // Poll interval in --follow mode
+    // Raw activities kept per user and operation, older ones are rolled up (-Dlps.retention.activities=N)
+    static final int RETAINED_ACTIVITIES = Integer.getInteger("lps.retention.activities", 1000);
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        Map<String, UserProfile> userProfiles = new HashMap<>();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final OperationClassifier classifier = OperationClassifier.defaults(); // Email and operation extraction
+    private static final Comparator<Activity> CHRONOLOGICAL = Comparator.comparingLong(Activity::getTimestamp);
 
-        try (BufferedReader br = new BufferedReader(new FileReader(logFilePath))) {
-            String line;
+    /**
+     * Parses the log and saves the structured profiles.
+     * Processing resumes from the checkpoint left by the previous run, on top of the profiles it saved.
+     * With {@code --follow} the parser keeps tailing the log and refreshes the output as new events arrive.
+     * With {@code --parallel} the whole log is reprocessed from scratch by the {@link ParallelLogParser}.
+     *
+     * @param args optional {@code --follow} or {@code --parallel}
+     */
+    public static void main(String[] args) {
+        boolean follow = Arrays.asList(args).contains("--follow");
+        if (Arrays.asList(args).contains("--parallel")) {
+            reprocessInParallel();
+            return;
+        }
 
-            while ((line = br.readLine()) != null) {
-                Map<String, Object> logEntry = objectMapper.readValue(line, Map.class);
-                String email = extractEmail((String) logEntry.get("message"));
-                String operation = extractOperation((String) logEntry.get("message"));
-                String timestamp = (String) logEntry.get("@timestamp");
+        LogTailer.Checkpoint checkpoint = LogTailer.loadCheckpoint(Path.of(CHECKPOINT_FILE_PATH));
+        Map<String, UserProfile> userProfiles = new HashMap<>();
+        if (checkpoint != null && !loadProfiles(userProfiles)) {
+            userProfiles.clear();
+            checkpoint = null; // Previous output is unusable, parse the whole log again
+        }
 
-                if (email != null && operation != null) {
-                    userProfiles.putIfAbsent(email, new UserProfile(email));
-                    UserProfile profile = userProfiles.get(email);
-                    profile.addOperation(operation, timestamp, (String) logEntry.get("message"));
+        OperationClassifier.Classification classification = new OperationClassifier.Classification(); // Reused per event
+        try (LogTailer tailer = new LogTailer(Path.of(LOG_FILE_PATH), checkpoint)) {
+            do {
+                int[] invalidTimestamps = {0};
+                int events = tailer.poll(record -> {
+                    if (!parseRecord(record, classification, userProfiles)) {
+                        invalidTimestamps[0]++;
+                    }
+                });
+                reportInvalidTimestamps(invalidTimestamps[0]);
+                if (events > 0 || !follow) {
+                    saveProfiles(userProfiles);
+                    objectMapper.writeValue(new File(CHECKPOINT_FILE_PATH), tailer.checkpoint());
+                    System.out.println("Structured profiles saved to: " + OUTPUT_FILE_PATH);
                 }
-            }
-
-            List<UserProfile> sortedProfiles = new ArrayList<>(userProfiles.values());
-            sortedProfiles.sort(Comparator.comparing(UserProfile::getTotalOperationCount).reversed());
-
-            Map<String, Object> result = new LinkedHashMap<>();
-            result.put("profiles", sortedProfiles);
+                if (follow) {
+                    Thread.sleep(FOLLOW_INTERVAL_MS);
+                }
+            } while (follow);
 
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(new FileWriter(outputFilePath), result);
-            System.out.println("Structured profiles saved to: " + outputFilePath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
+    /**
+     * Rebuilds the profiles from the whole log on all cores, then saves them with a checkpoint
+     * so that a later incremental run continues after the reprocessed events.
+     */
+    private static void reprocessInParallel() {
+        try {
+            ParallelLogParser.Result result = ParallelLogParser.parse(Path.of(LOG_FILE_PATH), ForkJoinPool.commonPool());
+            reportInvalidTimestamps(result.getInvalidTimestamps());
+            saveProfiles(result.getProfiles());
+            objectMapper.writeValue(new File(CHECKPOINT_FILE_PATH), result.getCheckpoint());
+            System.out.println("Structured profiles saved to: " + OUTPUT_FILE_PATH);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
-    private static String extractEmail(String message) {
-        if (message != null && message.contains("User")) {
-            int startIndex = message.indexOf("User ") + 5;
-            int endIndex = message.indexOf(" ", startIndex);
-            return message.substring(startIndex, endIndex);
+    static boolean parseRecord(LogRecord record, OperationClassifier.Classification classification,
+                                    Map<String, UserProfile> userProfiles) {
+        return parseRecord(classifier, record, classification, userProfiles);
+    }
+
+    /**
+     * Adds an event to the profiles, classifying it with the given classifier. Parallel tasks each
+     * pass their own, so that they do not contend on the shared classifier's email table; profiles
+     * are keyed by the email itself, so tasks with different tables still merge correctly.
+     *
+     * @return false if the event is an operation whose timestamp is missing or malformed, it is then skipped
+     */
+    static boolean parseRecord(OperationClassifier classifier, LogRecord record,
+                               OperationClassifier.Classification classification, Map<String, UserProfile> userProfiles) {
+        if (classifier.classify(record, classification)) {
+            long timestamp = Timestamps.toEpochMillis(record.getTimestamp());
+            if (timestamp == Timestamps.INVALID) {
+                return false;
+            }
+            UserProfile profile = userProfiles.computeIfAbsent(classification.getEmail(), UserProfile::new);
+            profile.addOperation(classification.getOperation(), timestamp, record.getMessage());
         }
-        return null;
+        return true;
     }
 
-    private static String extractOperation(String message) {
-        if (message.contains("READ") || message.contains("fetching")) {
-            return "READ";
-        } else if (message.contains("WRITE") || message.contains("adding") || message.contains("updated") || message.contains("DELETE")) {
-            return "WRITE";
-        } else if (message.contains("searched for the most expensive products")) {
-            return "MOST_EXPENSIVE_SEARCH";
+    private static void reportInvalidTimestamps(int count) {
+        if (count > 0) {
+            System.err.println("Skipped " + count + " log events with a missing or malformed timestamp");
         }
-        return null;
     }
 
-    static class UserProfile {
+    private static void saveProfiles(Map<String, UserProfile> userProfiles) throws IOException {
+        List<UserProfile> sortedProfiles = new ArrayList<>(userProfiles.values());
+        sortedProfiles.sort(Comparator.comparing(UserProfile::getTotalOperationCount).reversed());
+
+        ProfileStoreWriter.write(Path.of(OUTPUT_FILE_PATH), sortedProfiles);
+    }
+
+    /**
+     * Reloads the structured profiles saved by a previous run.
+     *
+     * @param userProfiles the map to fill
+     * @return true if the saved profiles could be read
+     */
+    private static boolean loadProfiles(Map<String, UserProfile> userProfiles) {
+        if (!new File(OUTPUT_FILE_PATH).exists()) {
+            return false;
+        }
+        try (ProfileStoreReader reader = new ProfileStoreReader(Path.of(OUTPUT_FILE_PATH))) {
+            userProfiles.putAll(reader.readAll());
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error reading saved profiles: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The activities of one user, by operation type. The email and operation type strings are the
+     * canonical instances shared by every profile, and the per-operation counts are kept once,
+     * in the {@link OperationDetails}.
+     */
+    public static class UserProfile {
         private final String user;
         private final Map<String, OperationDetails> operations = new HashMap<>();
-        private final Map<String, Integer> summary = new HashMap<>();
 
         public UserProfile(String user) {
             this.user = user;
         }
 
-        public void addOperation(String operation, String timestamp, String action) {
-            operations.putIfAbsent(operation, new OperationDetails());
-            OperationDetails details = operations.get(operation);
+        public void addOperation(String operation, long timestamp, String action) {
+            OperationDetails details = operations.computeIfAbsent(operation, key -> new OperationDetails());
             details.addOperation(new Activity(timestamp, operation, action));
-            summary.put(operation, summary.getOrDefault(operation, 0) + 1);
+        }
+
+        /**
+         * Appends the activities of a profile built from a later part of the log.
+         */
+        public UserProfile merge(UserProfile later) {
+            later.operations.forEach((operation, details) -> operations
+                    .computeIfAbsent(operation, key -> new OperationDetails())
+                    .merge(details));
+            return this;
+        }
+
+        /**
+         * Installs saved details for an operation, including the activities already folded into rollups.
+         */
+        void restoreOperation(String operation, OperationDetails details) {
+            operations.put(operation, details);
         }
 
         public String getUser() {
@@ -95,42 +190,120 @@ public class LogParser {
         }
 
         public Map<String, Integer> getSummary() {
+            Map<String, Integer> summary = new HashMap<>();
+            operations.forEach((operation, details) -> summary.put(operation, details.getOperationCount()));
             return summary;
         }
 
+        /**
+         * Returns the retained activities performed between two instants, across every operation type.
+         * Older activities are only counted in the rollups of each {@link OperationDetails}.
+         *
+         * @param from the start of the range in epoch milliseconds, inclusive
+         * @param to   the end of the range in epoch milliseconds, exclusive
+         * @return the activities in the range, in chronological order
+         */
+        public List<Activity> getActivitiesBetween(long from, long to) {
+            List<Activity> activities = new ArrayList<>();
+            operations.values().forEach(details -> activities.addAll(details.getOperationsBetween(from, to)));
+            activities.sort(CHRONOLOGICAL);
+            return activities;
+        }
+
         public int getTotalOperationCount() {
-            return summary.values().stream().mapToInt(Integer::intValue).sum();
+            int total = 0;
+            for (OperationDetails details : operations.values()) {
+                total += details.getOperationCount();
+            }
+            return total;
         }
     }
 
-    static class OperationDetails {
-        private final List<Activity> operations = new ArrayList<>();
+    /**
+     * The activities of one operation type. Only the most recent {@link #RETAINED_ACTIVITIES}
+     * are kept individually, in chronological order; older ones are folded into per-minute,
+     * per-hour and per-day counters.
+     */
+    public static class OperationDetails {
+        private final ActivityRing<Activity> operations = new ActivityRing<>(RETAINED_ACTIVITIES);
+        private final ActivityRollup rollup = new ActivityRollup();
+        private int operationCount; // Every activity seen, retained or folded
 
         public void addOperation(Activity activity) {
-            operations.add(activity);
+            Activity evicted = operations.addOrdered(activity, CHRONOLOGICAL);
+            if (evicted != null) {
+                rollup.fold(evicted.getTimestamp());
+            }
+            operationCount++;
+        }
+
+        /**
+         * Appends the details built from a later part of the log.
+         */
+        void merge(OperationDetails later) {
+            later.getOperations().forEach(this::addOperation);
+            operationCount += later.operationCount - later.operations.size();
+            rollup.merge(later.rollup);
+        }
+
+        void restoreOperationCount(int operationCount) {
+            this.operationCount = operationCount;
         }
 
         public List<Activity> getOperations() {
-            return operations;
+            return operations.toList();
+        }
+
+        /**
+         * Returns the retained activities performed between two instants, found by binary search.
+         *
+         * @param from the start of the range in epoch milliseconds, inclusive
+         * @param to   the end of the range in epoch milliseconds, exclusive
+         * @return the activities in the range, in chronological order
+         */
+        public List<Activity> getOperationsBetween(long from, long to) {
+            List<Activity> activities = new ArrayList<>();
+            for (int i = firstAtOrAfter(from); i < operations.size() && operations.get(i).getTimestamp() < to; i++) {
+                activities.add(operations.get(i));
+            }
+            return activities;
+        }
+
+        private int firstAtOrAfter(long epochMillis) {
+            int low = 0;
+            int high = operations.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (operations.get(middle).getTimestamp() < epochMillis) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        public ActivityRollup getRollup() {
+            return rollup;
         }
 
         public int getOperationCount() {
-            return operations.size();
+            return operationCount;
         }
     }
 
-    static class Activity {
-        private final String timestamp;
+    public static class Activity {
+        private final long timestamp; // Epoch milliseconds
         private final String event;
         private final String action;
 
-        public Activity(String timestamp, String event, String action) {
+        public Activity(long timestamp, String event, String action) {
             this.timestamp = timestamp;
             this.event = event;
             this.action = action;
         }
 
-        public String getTimestamp() {
+        public long getTimestamp() {
             return timestamp;
         }
 
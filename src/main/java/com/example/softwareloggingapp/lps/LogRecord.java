@@ -0,0 +1,88 @@
+package com.example.softwareloggingapp.lps;
+
+/**
+ * A mutable view of the fields of one log event that the profile pipeline uses.
+ * A single instance is reused for every event read by a {@link LogRecordReader}, so consumers
+ * must copy the values they want to keep rather than the record itself.
+ */
+public class LogRecord {
+
+    private String timestamp; // Value of the "@timestamp" field
+    private String message; // Value of the "message" field
+    private String user; // Value of the "user" field, structured or attached through the MDC, if any
+    private String op; // Value of the structured "op" field, absent from legacy events
+    private String loggerName; // Value of the "logger_name" field
+    private String threadName; // Value of the "thread_name" field
+    private String level; // Value of the "level" field
+
+    /**
+     * Clears every field before the record is filled with the next event.
+     */
+    void reset() {
+        timestamp = null;
+        message = null;
+        user = null;
+        op = null;
+        loggerName = null;
+        threadName = null;
+        level = null;
+    }
+
+    // Getters and Setters for accessing and modifying the class properties.
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setThreadName(String threadName) {
+        this.threadName = threadName;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.softwareloggingapp.lps;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Streams log events out of raw JSON bytes with a token-level {@link JsonParser}.
+ * Only the fields kept in a {@link LogRecord} are materialized; every other field is skipped
+ * without being decoded, and no intermediate Map is built. The input is a sequence of
+ * root-level JSON objects, so both one-object-per-line files and the multi-line
+ * pretty-printed output of the logback file appender are supported.
+ */
+public class LogRecordReader {
+
+    private static final JsonFactory jsonFactory = new JsonFactory(); // Thread-safe, shared parser factory
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final LogRecord record = new LogRecord(); // Reused for every event
+
+    /**
+     * Parses every complete log event found in the given bytes.
+     * An event cut off at the end of the input is not delivered, so that it can be parsed
+     * again once the rest of it is available. Malformed data is skipped up to the next line.
+     *
+     * @param data           the buffer holding the JSON bytes
+     * @param offset         index of the first byte to parse
+     * @param length         number of bytes to parse
+     * @param recordConsumer receives each event; the record is reused once the consumer returns
+     * @return the number of bytes consumed, i.e. the position just after the last complete event
+     */
+    public int read(byte[] data, int offset, int length, Consumer<LogRecord> recordConsumer) {
+        return read(ByteBuffer.wrap(data, offset, length), recordConsumer);
+    }
+
+    /**
+     * Parses every log event of a stream, e.g. a decompressed log segment, reading it in chunks.
+     * An event cut off at the end of the stream is not delivered.
+     *
+     * @param in             the stream holding the JSON bytes, not closed by this method
+     * @param recordConsumer receives each event; the record is reused once the consumer returns
+     * @return the number of bytes consumed, i.e. the position just after the last complete event
+     * @throws IOException if the stream cannot be read
+     */
+    public long read(InputStream in, Consumer<LogRecord> recordConsumer) throws IOException {
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        int length = 0; // Bytes read but not consumed yet
+        long consumedTotal = 0;
+        while (true) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2); // A single event larger than the buffer
+            }
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                return consumedTotal;
+            }
+            length += read;
+            int consumed = read(buffer, 0, length, recordConsumer);
+            System.arraycopy(buffer, consumed, buffer, 0, length - consumed);
+            length -= consumed;
+            consumedTotal += consumed;
+        }
+    }
+
+    /**
+     * Parses every complete log event between the position and the limit of a buffer,
+     * which may be a direct or memory-mapped buffer. The buffer's position is not modified.
+     *
+     * @param buffer         the buffer holding the JSON bytes
+     * @param recordConsumer receives each event; the record is reused once the consumer returns
+     * @return the number of bytes consumed, i.e. the position just after the last complete event
+     * @see #read(byte[], int, int, Consumer)
+     */
+    public int read(ByteBuffer buffer, Consumer<LogRecord> recordConsumer) {
+        int base = buffer.position();
+        int length = buffer.remaining();
+        int consumed = 0;
+        while (consumed < length) {
+            int parserStart = consumed; // Parser locations are relative to this position
+            try (JsonParser parser = createParser(buffer, base + consumed, length - consumed)) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (token == JsonToken.START_OBJECT) {
+                        readRecord(parser);
+                        recordConsumer.accept(record);
+                    } else {
+                        parser.skipChildren(); // Not a log event, ignore it
+                    }
+                    consumed = parserStart + (int) parser.currentLocation().getByteOffset();
+                }
+                return length; // Everything left was whitespace
+            } catch (JsonEOFException e) {
+                return consumed; // Incomplete trailing event, wait for more data
+            } catch (JsonParseException e) {
+                int errorOffset = parserStart + (int) e.getLocation().getByteOffset();
+                int nextLine = indexOfNewline(buffer, base + errorOffset, base + length);
+                if (nextLine < 0) {
+                    return consumed; // The broken line may still be incomplete
+                }
+                System.err.println("Skipping malformed log entry: " + e.getOriginalMessage());
+                consumed = nextLine - base + 1;
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected I/O error on an in-memory buffer", e);
+            }
+        }
+        return consumed;
+    }
+
+    private JsonParser createParser(ByteBuffer buffer, int position, int length) throws IOException {
+        if (buffer.hasArray()) {
+            return jsonFactory.createParser(buffer.array(), buffer.arrayOffset() + position, length);
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.limit(position + length).position(position);
+        return jsonFactory.createParser(new ByteBufferBackedInputStream(view));
+    }
+
+    private void readRecord(JsonParser parser) throws IOException {
+        record.reset();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "@timestamp" -> record.setTimestamp(textOf(parser, value));
+                case "message" -> record.setMessage(textOf(parser, value));
+                case "logger_name" -> record.setLoggerName(textOf(parser, value));
+                case "thread_name" -> record.setThreadName(textOf(parser, value));
+                case "level" -> record.setLevel(textOf(parser, value));
+                case "user" -> record.setUser(readUser(parser, value));
+                case "op" -> record.setOp(textOf(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Structured events carry the user as a plain string, while legacy events written by the MDC
+     * provider may nest it as {"user": "..."}.
+     */
+    private String readUser(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            return textOf(parser, value);
+        }
+        String user = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken nested = parser.nextToken();
+            if ("user".equals(field)) {
+                user = textOf(parser, nested);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return user;
+    }
+
+    private String textOf(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isScalarValue()) {
+            return value == JsonToken.VALUE_NULL ? null : parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private int indexOfNewline(ByteBuffer buffer, int from, int to) {
+        for (int i = Math.max(from, 0); i < to; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
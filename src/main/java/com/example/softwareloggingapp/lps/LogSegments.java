@@ -0,0 +1,104 @@
+package com.example.softwareloggingapp.lps;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Locates the segments rolled over from a log file by the logback rolling policy.
+ * For {@code logs/application.json}, segments are named {@code application.<yyyy-MM-dd>.<index>.json.gz}
+ * (or {@code .json} when uncompressed) in the same directory, and are ordered by date, then index.
+ */
+public class LogSegments {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern DATE_AND_INDEX = Pattern.compile("\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)\\.");
+
+    // Oldest segment first
+    private static final Comparator<String> ORDER = Comparator.comparing(LogSegments::date)
+            .thenComparingLong(LogSegments::index);
+
+    private LogSegments() {
+    }
+
+    /**
+     * Lists the rolled segments of a log file, oldest first. The active file is not included.
+     *
+     * @param logFile the active log file
+     * @return the segment files, empty if there are none
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> list(Path logFile) throws IOException {
+        Path directory = logFile.toAbsolutePath().getParent();
+        Pattern pattern = segmentPattern(logFile);
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> pattern.matcher(file.getFileName().toString()).matches()).forEach(segments::add);
+        } catch (NoSuchFileException e) {
+            return segments;
+        }
+        segments.sort(Comparator.comparing(segment -> segment.getFileName().toString(), ORDER));
+        return segments;
+    }
+
+    /**
+     * Returns the file name of the newest segment of a log file.
+     *
+     * @param logFile the active log file
+     * @return the segment name, or null if the log file was never rolled over
+     * @throws IOException if the directory cannot be listed
+     */
+    public static String newest(Path logFile) throws IOException {
+        List<Path> segments = list(logFile);
+        return segments.isEmpty() ? null : segments.get(segments.size() - 1).getFileName().toString();
+    }
+
+    /**
+     * Compares two segment names by their position in the log.
+     *
+     * @return a negative number, zero or a positive number if the first segment is older, the same or newer
+     */
+    public static int compare(String segment, String other) {
+        return ORDER.compare(segment, other);
+    }
+
+    /**
+     * Opens a segment for reading, decompressing it if needed.
+     *
+     * @param segment the segment file
+     * @return a stream of the original log bytes
+     * @throws IOException if the segment cannot be opened
+     */
+    public static InputStream open(Path segment) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(segment), BUFFER_SIZE);
+        return segment.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    private static Pattern segmentPattern(Path logFile) {
+        String name = logFile.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        String stem = extension > 0 ? name.substring(0, extension) : name;
+        String suffix = extension > 0 ? name.substring(extension) : "";
+        return Pattern.compile(Pattern.quote(stem) + "\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)" + Pattern.quote(suffix) + "(\\.gz)?");
+    }
+
+    private static String date(String segment) {
+        Matcher matcher = DATE_AND_INDEX.matcher(segment);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+
+    private static long index(String segment) {
+        Matcher matcher = DATE_AND_INDEX.matcher(segment);
+        return matcher.find() ? Long.parseLong(matcher.group(2)) : 0;
+    }
+}
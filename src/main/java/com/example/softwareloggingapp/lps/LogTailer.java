@@ -0,0 +1,289 @@
+package com.example.softwareloggingapp.lps;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * The LogTailer follows a log file the way {@code tail -F} does.
+ * Each call to {@link #poll(Consumer)} delivers only the complete log events appended since
+ * the previous call, parsed by a {@link LogRecordReader}. The file is tracked by its identity
+ * (inode) as well as its path, so when the appender rolls the file over, the remainder of the
+ * old file is drained before the new file is read from its beginning. The current position can be captured as a {@link Checkpoint}
+ * and passed back in after a restart to resume where processing stopped.
+ * Segments rolled over by the logging framework (see {@link LogSegments}) are read too on the first poll:
+ * all of them when starting from scratch, or those rolled after the checkpoint when resuming.
+ */
+public class LogTailer implements AutoCloseable {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper(); // Checkpoint (de)serialization
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path logFile; // Path of the followed log file
+    private final LogRecordReader recordReader = new LogRecordReader(); // Streaming event parser
+    private byte[] pending = new byte[BUFFER_SIZE]; // Bytes read past the offset, not yet forming a complete event
+    private int pendingLength; // Number of valid bytes in the pending buffer
+
+    private Checkpoint resumeFrom; // Checkpoint to honour when the file is first opened
+    private boolean segmentsRead; // Whether the rolled segments were read
+    private String precedingSegment; // Newest rolled segment older than the file currently being read
+    private FileChannel channel; // Channel of the file currently being read
+    private Object fileKey; // Identity of the file currently being read
+    private long offset; // Byte offset just after the last complete event delivered
+
+    /**
+     * Creates a tailer for the given log file.
+     *
+     * @param logFile    the log file to follow
+     * @param resumeFrom a previously captured checkpoint, or null to start at the beginning of the file
+     */
+    public LogTailer(Path logFile, Checkpoint resumeFrom) {
+        this.logFile = logFile;
+        this.resumeFrom = resumeFrom;
+    }
+
+    /**
+     * Delivers every complete log event appended since the last call.
+     * A trailing event that is still being written is held back until it is completed.
+     *
+     * @param recordConsumer receives each new event; the record instance is reused between events
+     * @return the number of events delivered
+     * @throws IOException if the log file cannot be read
+     */
+    public int poll(Consumer<LogRecord> recordConsumer) throws IOException {
+        int delivered = 0;
+        if (!segmentsRead) {
+            delivered += readSegments(recordConsumer);
+            segmentsRead = true;
+        }
+        if (channel == null && !open()) {
+            return delivered; // The log file does not exist yet
+        }
+
+        delivered += drain(recordConsumer);
+
+        Object currentKey = currentFileKey();
+        if (currentKey != null && !Objects.equals(currentKey, fileKey)) {
+            // The file was rolled over. It may have grown between the drain above and the rename,
+            // and the open channel still reads the old file, so finish it before switching
+            delivered += drain(recordConsumer);
+            close();
+            if (open()) {
+                delivered += drain(recordConsumer);
+            }
+        } else if (channel.size() < offset) {
+            // The file was truncated in place: restart from its beginning
+            offset = 0;
+            pendingLength = 0;
+            delivered += drain(recordConsumer);
+        }
+        return delivered;
+    }
+
+    /**
+     * Captures the current read position.
+     *
+     * @return a checkpoint that resumes right after the last delivered event
+     */
+    public Checkpoint checkpoint() {
+        if (channel == null && resumeFrom != null) {
+            return resumeFrom; // Nothing was read yet, keep the position we were given
+        }
+        try {
+            if (fileKey != null && fileKey.equals(currentFileKey())) {
+                // The file being read was not rolled yet, so every segment is older than it
+                precedingSegment = LogSegments.newest(logFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Error listing log segments: " + e.getMessage()); // Keep the last known segment
+        }
+        return new Checkpoint(fileKey == null ? null : fileKey.toString(), offset, precedingSegment);
+    }
+
+    /**
+     * Reads the rolled segments that are not covered by the checkpoint. When the checkpointed file
+     * was itself rolled over, it is the oldest segment newer than the checkpoint's segment, and
+     * reading resumes at the checkpoint offset inside it, since compression preserves the bytes.
+     */
+    private int readSegments(Consumer<LogRecord> recordConsumer) throws IOException {
+        Object activeKey = currentFileKey();
+        if (resumeFrom != null && (resumeFrom.getFileKey() == null
+                || (activeKey != null && resumeFrom.getFileKey().equals(activeKey.toString())))) {
+            precedingSegment = resumeFrom.getSegment();
+            return 0; // Still in the checkpointed file
+        }
+
+        int delivered = 0;
+        boolean checkpointedSegment = resumeFrom != null;
+        List<Path> segments = LogSegments.list(logFile);
+        for (Path segment : segments) {
+            String name = segment.getFileName().toString();
+            if (resumeFrom != null && resumeFrom.getSegment() != null
+                    && LogSegments.compare(name, resumeFrom.getSegment()) <= 0) {
+                continue; // Processed before the checkpoint
+            }
+            long skip = checkpointedSegment ? resumeFrom.getOffset() : 0;
+            checkpointedSegment = false;
+            delivered += readSegment(segment, skip, recordConsumer);
+            precedingSegment = name;
+        }
+        resumeFrom = null; // The active file is new since the checkpoint, read it from its beginning
+        return delivered;
+    }
+
+    private int readSegment(Path segment, long skip, Consumer<LogRecord> recordConsumer) throws IOException {
+        int[] delivered = {0};
+        try (InputStream in = LogSegments.open(segment)) {
+            in.skipNBytes(skip);
+            recordReader.read(in, record -> {
+                recordConsumer.accept(record);
+                delivered[0]++;
+            });
+        } catch (EOFException e) {
+            // Shorter than the checkpoint offset, nothing left to read
+        }
+        return delivered[0];
+    }
+
+    private boolean open() throws IOException {
+        try {
+            channel = FileChannel.open(logFile, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        fileKey = Files.readAttributes(logFile, BasicFileAttributes.class).fileKey();
+        offset = 0;
+        pendingLength = 0;
+
+        if (resumeFrom != null) {
+            boolean sameFile = resumeFrom.getFileKey() == null
+                    || (fileKey != null && resumeFrom.getFileKey().equals(fileKey.toString()));
+            if (sameFile && resumeFrom.getOffset() <= channel.size()) {
+                offset = resumeFrom.getOffset();
+            }
+            resumeFrom = null;
+        }
+        return true;
+    }
+
+    private int drain(Consumer<LogRecord> recordConsumer) throws IOException {
+        int[] delivered = {0};
+        Consumer<LogRecord> counting = record -> {
+            recordConsumer.accept(record);
+            delivered[0]++;
+        };
+
+        while (true) {
+            if (pendingLength == pending.length) {
+                pending = Arrays.copyOf(pending, pending.length * 2); // A single event larger than the buffer
+            }
+            int read = channel.read(ByteBuffer.wrap(pending, pendingLength, pending.length - pendingLength),
+                    offset + pendingLength);
+            if (read <= 0) {
+                return delivered[0];
+            }
+            pendingLength += read;
+
+            int consumed = recordReader.read(pending, 0, pendingLength, counting);
+            System.arraycopy(pending, consumed, pending, 0, pendingLength - consumed);
+            pendingLength -= consumed;
+            offset += consumed;
+        }
+    }
+
+    private Object currentFileKey() throws IOException {
+        try {
+            return Files.readAttributes(logFile, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            return null; // Rolled away and not recreated yet
+        }
+    }
+
+    /**
+     * Releases the underlying file channel. The tailer reopens the file on the next poll.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Reads a checkpoint previously saved as JSON.
+     *
+     * @param checkpointFile the checkpoint file
+     * @return the checkpoint, or null if the file does not exist or cannot be read
+     */
+    public static Checkpoint loadCheckpoint(Path checkpointFile) {
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(checkpointFile.toFile(), Checkpoint.class);
+        } catch (IOException e) {
+            System.err.println("Error reading checkpoint, starting from the beginning: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * A persisted read position: the identity of the log file and the byte offset reached in it.
+     */
+    public static class Checkpoint {
+        private String fileKey; // Identity of the log file (inode), null where the platform has none
+        private long offset; // Byte offset just after the last processed event
+        private String segment; // Newest rolled segment older than the log file, null if none
+
+        public Checkpoint() {
+        }
+
+        public Checkpoint(String fileKey, long offset) {
+            this(fileKey, offset, null);
+        }
+
+        public Checkpoint(String fileKey, long offset, String segment) {
+            this.fileKey = fileKey;
+            this.offset = offset;
+            this.segment = segment;
+        }
+
+        public String getFileKey() {
+            return fileKey;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public void setFileKey(String fileKey) {
+            this.fileKey = fileKey;
+        }
+
+        public void setOffset(long offset) {
+            this.offset = offset;
+        }
+
+        public String getSegment() {
+            return segment;
+        }
+
+        public void setSegment(String segment) {
+            this.segment = segment;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.softwareloggingapp.lps;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies log events into operation types and extracts the acting user's email, either from
+ * their structured {@code op} and {@code user} fields or, for legacy events, from the message.
+ * All registered keywords, plus the {@code "User "} marker that precedes the email, are compiled
+ * into one Aho-Corasick automaton, so a message is classified in a single pass over its characters.
+ * When keywords of several operation types occur in a message, the type registered first wins.
+ * Emails are interned in a {@link SymbolTable}, so repeated users share one String instance and
+ * one int ID.
+ */
+public class OperationClassifier {
+
+    private static final String USER_MARKER = "User "; // Precedes the email in user-facing log messages
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final Map<String, List<String>> keywordsByOperation = new LinkedHashMap<>(); // In priority order
+    private final SymbolTable emails = new SymbolTable(); // Canonical email strings and their IDs
+    private volatile Automaton automaton = new Automaton(List.of(), Map.of());
+
+    /**
+     * Creates a classifier with the READ, WRITE and MOST_EXPENSIVE_SEARCH operation types.
+     *
+     * @return a classifier recognizing the operations logged by the application
+     */
+    public static OperationClassifier defaults() {
+        return new OperationClassifier()
+                .register("READ", "READ", "fetching")
+                .register("WRITE", "WRITE", "adding", "updated", "DELETE")
+                .register("MOST_EXPENSIVE_SEARCH", "searched for the most expensive products");
+    }
+
+    /**
+     * Registers keywords for an operation type. A type registered for the first time gets a lower
+     * priority than every type registered before it.
+     *
+     * @param operationType the operation type reported for messages containing one of the keywords
+     * @param keywords      the case-sensitive keywords identifying the operation
+     * @return the current instance for method chaining
+     */
+    public synchronized OperationClassifier register(String operationType, String... keywords) {
+        keywordsByOperation.computeIfAbsent(operationType, key -> new ArrayList<>()).addAll(Arrays.asList(keywords));
+        automaton = new Automaton(new ArrayList<>(keywordsByOperation.keySet()), keywordsByOperation);
+        return this;
+    }
+
+    /**
+     * Returns the registered operation types, from highest to lowest priority.
+     */
+    public List<String> getOperationTypes() {
+        return automaton.operationTypes;
+    }
+
+    /**
+     * Returns the table of the emails found so far, whose IDs are reported in classifications.
+     */
+    public SymbolTable getEmails() {
+        return emails;
+    }
+
+    /**
+     * Scans a message once, finding its operation type and the email following {@code "User "}.
+     *
+     * @param message the log message, may be null
+     * @param result  receives the email and operation type, either of which may be null
+     * @return true if both an email and an operation type were found
+     */
+    public boolean classify(String message, Classification result) {
+        result.email = null;
+        result.emailId = SymbolTable.NONE;
+        result.operation = null;
+        if (message == null) {
+            return false;
+        }
+
+        Automaton current = automaton;
+        int state = 0;
+        int bestPriority = NO_MATCH;
+        int emailStart = -1;
+        int emailEnd = -1;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (emailStart >= 0 && emailEnd < 0 && c == ' ') {
+                emailEnd = i; // The email runs up to the first space after the marker
+            }
+            state = current.next(state, c);
+            bestPriority = Math.min(bestPriority, current.priority[state]);
+            if (emailStart < 0 && current.userMarker[state]) {
+                emailStart = i + 1;
+            }
+        }
+
+        if (bestPriority != NO_MATCH) {
+            result.operation = current.operationTypes.get(bestPriority);
+        }
+        if (emailStart >= 0 && emailEnd >= 0) {
+            setEmail(result, message, emailStart, emailEnd);
+        }
+        return result.email != null && result.operation != null;
+    }
+
+    /**
+     * Classifies a log event, reading its structured {@code op} and {@code user} fields when both
+     * are present and falling back to scanning the message of legacy events.
+     * An {@code op} that is not a registered operation type is mapped through the keywords, so a
+     * structured DELETE is reported as WRITE like its legacy message.
+     *
+     * @param record the log event
+     * @param result receives the email and operation type, either of which may be null
+     * @return true if both an email and an operation type were found
+     */
+    public boolean classify(LogRecord record, Classification result) {
+        if (record.getOp() == null || record.getUser() == null) {
+            return classify(record.getMessage(), result);
+        }
+        setEmail(result, record.getUser(), 0, record.getUser().length());
+        result.operation = operationOf(record.getOp());
+        return result.operation != null;
+    }
+
+    private void setEmail(Classification result, String source, int start, int end) {
+        result.emailId = emails.intern(source, start, end);
+        result.email = emails.nameOf(result.emailId);
+    }
+
+    private String operationOf(String op) {
+        Automaton current = automaton;
+        if (current.operationTypes.contains(op)) {
+            return op;
+        }
+        int state = 0;
+        int bestPriority = NO_MATCH;
+        for (int i = 0; i < op.length(); i++) {
+            state = current.next(state, op.charAt(i));
+            bestPriority = Math.min(bestPriority, current.priority[state]);
+        }
+        return bestPriority == NO_MATCH ? null : current.operationTypes.get(bestPriority);
+    }
+
+    /**
+     * The outcome of classifying one message. Instances are meant to be reused between calls.
+     */
+    public static class Classification {
+        private String email; // Email of the acting user, or null
+        private int emailId = SymbolTable.NONE; // ID of the email in the classifier's table
+        private String operation; // Operation type, or null
+
+        public String getEmail() {
+            return email;
+        }
+
+        public int getEmailId() {
+            return emailId;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+    }
+
+    /**
+     * Immutable Aho-Corasick automaton over the keywords and the user marker.
+     * Node 0 is the root; transitions are stored as parallel character/target arrays per node.
+     */
+    private static class Automaton {
+        private final List<String> operationTypes;
+        private final char[][] edgeChars;
+        private final int[][] edgeTargets;
+        private final int[] fail; // Longest proper suffix that is also a trie node
+        private final int[] priority; // Best operation priority matched when reaching a node
+        private final boolean[] userMarker; // Whether reaching a node completes the user marker
+
+        Automaton(List<String> operationTypes, Map<String, List<String>> keywordsByOperation) {
+            this.operationTypes = Collections.unmodifiableList(operationTypes);
+
+            // Build the trie
+            List<StringBuilder> chars = new ArrayList<>();
+            List<List<Integer>> targets = new ArrayList<>();
+            List<Integer> priorities = new ArrayList<>();
+            List<Boolean> markers = new ArrayList<>();
+            addNode(chars, targets, priorities, markers);
+            for (int p = 0; p < operationTypes.size(); p++) {
+                for (String keyword : keywordsByOperation.get(operationTypes.get(p))) {
+                    int node = insert(keyword, chars, targets, priorities, markers);
+                    priorities.set(node, Math.min(priorities.get(node), p));
+                }
+            }
+            markers.set(insert(USER_MARKER, chars, targets, priorities, markers), true);
+
+            int nodeCount = chars.size();
+            edgeChars = new char[nodeCount][];
+            edgeTargets = new int[nodeCount][];
+            priority = new int[nodeCount];
+            userMarker = new boolean[nodeCount];
+            fail = new int[nodeCount];
+            for (int n = 0; n < nodeCount; n++) {
+                edgeChars[n] = chars.get(n).toString().toCharArray();
+                edgeTargets[n] = targets.get(n).stream().mapToInt(Integer::intValue).toArray();
+                priority[n] = priorities.get(n);
+                userMarker[n] = markers.get(n);
+            }
+
+            // Compute failure links breadth-first, inheriting the outputs of suffix nodes
+            Deque<Integer> queue = new ArrayDeque<>();
+            queue.add(0);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int e = 0; e < edgeChars[node].length; e++) {
+                    int child = edgeTargets[node][e];
+                    fail[child] = node == 0 ? 0 : next(fail[node], edgeChars[node][e]);
+                    priority[child] = Math.min(priority[child], priority[fail[child]]);
+                    userMarker[child] |= userMarker[fail[child]];
+                    queue.add(child);
+                }
+            }
+        }
+
+        int next(int state, char c) {
+            while (true) {
+                char[] candidates = edgeChars[state];
+                for (int e = 0; e < candidates.length; e++) {
+                    if (candidates[e] == c) {
+                        return edgeTargets[state][e];
+                    }
+                }
+                if (state == 0) {
+                    return 0;
+                }
+                state = fail[state];
+            }
+        }
+
+        private static int insert(String keyword, List<StringBuilder> chars, List<List<Integer>> targets,
+                                  List<Integer> priorities, List<Boolean> markers) {
+            int node = 0;
+            for (char c : keyword.toCharArray()) {
+                int edge = chars.get(node).indexOf(String.valueOf(c));
+                if (edge >= 0) {
+                    node = targets.get(node).get(edge);
+                } else {
+                    int child = addNode(chars, targets, priorities, markers);
+                    chars.get(node).append(c);
+                    targets.get(node).add(child);
+                    node = child;
+                }
+            }
+            return node;
+        }
+
+        private static int addNode(List<StringBuilder> chars, List<List<Integer>> targets,
+                                   List<Integer> priorities, List<Boolean> markers) {
+            chars.add(new StringBuilder());
+            targets.add(new ArrayList<>());
+            priorities.add(NO_MATCH);
+            markers.add(false);
+            return chars.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.softwareloggingapp.lps;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Batch mode of the {@link LogParser} for reprocessing large log archives.
+ * The log file is memory-mapped and split into chunks that start on event boundaries,
+ * each chunk is parsed and aggregated on its own fork-join worker, and the per-chunk
+ * profiles are merged back in file order.
+ * Rolled (compressed) segments of the log cannot be split, so each of them is parsed whole on
+ * its own worker, in parallel with the chunks of the active file.
+ * Every task classifies events with its own {@link OperationClassifier}, whose email table is
+ * only touched by that task, so workers never wait on each other's interning. Profiles are keyed
+ * by email, so the per-task tables need no remapping when the results are merged.
+ */
+public class ParallelLogParser {
+
+    private static final long MIN_CHUNK_SIZE = 1L << 20; // 1 MiB, smaller chunks are not worth a task
+    private static final long MAX_CHUNK_SIZE = 1L << 30; // 1 GiB, well below the 2 GiB mapping limit
+    private static final int CHUNKS_PER_WORKER = 4; // Extra chunks let busy workers steal from slow ones
+
+    /**
+     * Parses the whole log file in parallel.
+     *
+     * @param logFile the log file to parse
+     * @param pool    the pool running the chunk tasks
+     * @return the merged profiles and the position reached in the file
+     * @throws IOException if the file cannot be read
+     */
+    public static Result parse(Path logFile, ForkJoinPool pool) throws IOException {
+        String newestSegment = LogSegments.newest(logFile);
+        List<ForkJoinTask<ChunkResult>> tasks = new ArrayList<>(); // In log order
+        for (Path segment : LogSegments.list(logFile)) {
+            tasks.add(new SegmentTask(segment));
+        }
+
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = Math.min(MAX_CHUNK_SIZE,
+                    Math.max(MIN_CHUNK_SIZE, size / ((long) pool.getParallelism() * CHUNKS_PER_WORKER)));
+            List<Long> boundaries = findBoundaries(channel, size, chunkSize);
+            tasks.add(new ChunkTask(channel, boundaries, 0, boundaries.size() - 1));
+
+            ChunkResult merged = pool.invoke(new RecursiveTask<>() {
+                @Override
+                protected ChunkResult compute() {
+                    invokeAll(tasks);
+                    ChunkResult result = new ChunkResult(new HashMap<>(), 0, 0);
+                    tasks.forEach(task -> result.merge(task.join()));
+                    return result;
+                }
+            });
+            Object fileKey = Files.readAttributes(logFile, BasicFileAttributes.class).fileKey();
+            return new Result(merged.profiles,
+                    new LogTailer.Checkpoint(fileKey == null ? null : fileKey.toString(), merged.endOffset, newestSegment),
+                    merged.invalidTimestamps);
+        }
+    }
+
+    /**
+     * Picks chunk start offsets roughly {@code chunkSize} apart, each moved forward to the start
+     * of an event: a line beginning with '{', which holds for both compact and pretty-printed logs.
+     */
+    private static List<Long> findBoundaries(FileChannel channel, long size, long chunkSize) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer window = ByteBuffer.allocate(64 * 1024);
+        long candidate = chunkSize;
+        while (candidate < size) {
+            long boundary = nextEventStart(channel, candidate, size, window);
+            if (boundary >= size) {
+                break;
+            }
+            boundaries.add(boundary);
+            candidate = boundary + chunkSize;
+        }
+        boundaries.add(size);
+        return boundaries;
+    }
+
+    private static long nextEventStart(FileChannel channel, long from, long size, ByteBuffer window) throws IOException {
+        long position = from - 1; // Look at the byte before "from" too, in case it is a newline
+        byte previous = 0;
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte current = window.get(i);
+                if (previous == '\n' && current == '{') {
+                    return position + i;
+                }
+                previous = current;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parses the chunks in [first, last) by splitting the range in halves until one chunk is left.
+     */
+    private static class ChunkTask extends RecursiveTask<ChunkResult> {
+        private final FileChannel channel;
+        private final List<Long> boundaries;
+        private final int first;
+        private final int last;
+
+        ChunkTask(FileChannel channel, List<Long> boundaries, int first, int last) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (last - first == 1) {
+                return parseChunk(boundaries.get(first), boundaries.get(last));
+            }
+            int middle = (first + last) >>> 1;
+            ChunkTask left = new ChunkTask(channel, boundaries, first, middle);
+            ChunkTask right = new ChunkTask(channel, boundaries, middle, last);
+            left.fork();
+            ChunkResult rightResult = right.compute();
+            return left.join().merge(rightResult); // Left first, to keep activities in file order
+        }
+
+        private ChunkResult parseChunk(long start, long end) {
+            try {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                Map<String, LogParser.UserProfile> profiles = new HashMap<>();
+                OperationClassifier classifier = OperationClassifier.defaults(); // Not shared, see class comment
+                OperationClassifier.Classification classification = new OperationClassifier.Classification();
+                int[] invalidTimestamps = {0};
+                int consumed = new LogRecordReader().read(chunk, record -> {
+                    if (!LogParser.parseRecord(classifier, record, classification, profiles)) {
+                        invalidTimestamps[0]++;
+                    }
+                });
+                return new ChunkResult(profiles, start + consumed, invalidTimestamps[0]);
+            } catch (IOException e) {
+                throw new IllegalStateException("Error mapping log chunk at offset " + start, e);
+            }
+        }
+    }
+
+    /**
+     * Parses a whole rolled segment, decompressing it as a stream.
+     */
+    private static class SegmentTask extends RecursiveTask<ChunkResult> {
+        private final Path segment;
+
+        SegmentTask(Path segment) {
+            this.segment = segment;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            try (InputStream in = LogSegments.open(segment)) {
+                Map<String, LogParser.UserProfile> profiles = new HashMap<>();
+                OperationClassifier classifier = OperationClassifier.defaults(); // Not shared, see class comment
+                OperationClassifier.Classification classification = new OperationClassifier.Classification();
+                int[] invalidTimestamps = {0};
+                new LogRecordReader().read(in, record -> {
+                    if (!LogParser.parseRecord(classifier, record, classification, profiles)) {
+                        invalidTimestamps[0]++;
+                    }
+                });
+                return new ChunkResult(profiles, 0, invalidTimestamps[0]); // The offset only matters in the active file
+            } catch (IOException e) {
+                throw new IllegalStateException("Error reading log segment " + segment, e);
+            }
+        }
+    }
+
+    /**
+     * Profiles aggregated from a run of consecutive chunks.
+     */
+    private static class ChunkResult {
+        private final Map<String, LogParser.UserProfile> profiles;
+        private long endOffset; // Position just after the last complete event
+        private int invalidTimestamps; // Events skipped for a missing or malformed timestamp
+
+        ChunkResult(Map<String, LogParser.UserProfile> profiles, long endOffset, int invalidTimestamps) {
+            this.profiles = profiles;
+            this.endOffset = endOffset;
+            this.invalidTimestamps = invalidTimestamps;
+        }
+
+        ChunkResult merge(ChunkResult next) {
+            next.profiles.forEach((email, profile) -> profiles.merge(email, profile, LogParser.UserProfile::merge));
+            endOffset = next.endOffset;
+            invalidTimestamps += next.invalidTimestamps;
+            return this;
+        }
+    }
+
+    /**
+     * The outcome of a parallel parse.
+     */
+    public static class Result {
+        private final Map<String, LogParser.UserProfile> profiles;
+        private final LogTailer.Checkpoint checkpoint;
+        private final int invalidTimestamps;
+
+        Result(Map<String, LogParser.UserProfile> profiles, LogTailer.Checkpoint checkpoint, int invalidTimestamps) {
+            this.profiles = profiles;
+            this.checkpoint = checkpoint;
+            this.invalidTimestamps = invalidTimestamps;
+        }
+
+        Map<String, LogParser.UserProfile> getProfiles() {
+            return profiles;
+        }
+
+        /**
+         * Returns the position reached, so that incremental parsing can continue from there.
+         */
+        public LogTailer.Checkpoint getCheckpoint() {
+            return checkpoint;
+        }
+
+        /**
+         * Returns the number of events skipped because their timestamp was missing or malformed.
+         */
+        public int getInvalidTimestamps() {
+            return invalidTimestamps;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.softwareloggingapp.lps;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads structured user profiles from a store written by {@link ProfileStoreWriter}.
+ * Opening a store only reads its trailer, index and small dictionaries; a user's activities
+ * are read on demand from that user's block, and action messages are fetched individually
+ * from the string table as they are referenced.
+ */
+public class ProfileStoreReader implements AutoCloseable {
+
+    private static final List<String> ROLLUP_GRANULARITIES = List.of("perMinute", "perHour", "perDay"); // Stored order
+
+    private final FileChannel channel;
+    private final List<String> operations; // Operation dictionary, by id
+    private final List<String> emails; // Email dictionary, by id
+    private final Map<String, long[]> blocksByEmail = new LinkedHashMap<>(); // Block offset and length, in stored order
+    private final long actionsOffset; // Start of the action string table
+    private final int actionCount;
+    private final Map<Integer, String> actionCache = new HashMap<>(); // Action messages read so far
+
+    /**
+     * Opens a store and loads its index.
+     *
+     * @param storeFile the store file
+     * @throws IOException if the file cannot be read or is not a valid store
+     */
+    public ProfileStoreReader(Path storeFile) throws IOException {
+        this.channel = FileChannel.open(storeFile, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = readFully(0, Integer.BYTES + 1);
+            ByteBuffer trailer = readFully(channel.size() - ProfileStoreWriter.TRAILER_SIZE, ProfileStoreWriter.TRAILER_SIZE);
+            if (header.getInt() != ProfileStoreWriter.MAGIC || header.get() != ProfileStoreWriter.VERSION
+                    || trailer.getInt(ProfileStoreWriter.TRAILER_SIZE - Integer.BYTES) != ProfileStoreWriter.MAGIC) {
+                throw new IOException("Not a profile store: " + storeFile);
+            }
+            long operationsOffset = trailer.getLong();
+            long emailsOffset = trailer.getLong();
+            this.actionsOffset = trailer.getLong();
+            long indexOffset = trailer.getLong();
+
+            this.operations = readStrings(readFully(operationsOffset, (int) (emailsOffset - operationsOffset)));
+            this.emails = readStrings(readFully(emailsOffset, (int) (actionsOffset - emailsOffset)));
+            this.actionCount = readFully(actionsOffset, Integer.BYTES).getInt();
+
+            ByteBuffer index = readFully(indexOffset, (int) (channel.size() - ProfileStoreWriter.TRAILER_SIZE - indexOffset));
+            long userCount = readVarLong(index);
+            for (long i = 0; i < userCount; i++) {
+                String email = emails.get((int) readVarLong(index));
+                blocksByEmail.put(email, new long[]{index.getLong(), index.getInt()});
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e instanceof IOException ? (IOException) e : new IOException("Corrupt profile store: " + storeFile, e);
+        }
+    }
+
+    /**
+     * Returns the emails of the stored users, in stored order.
+     */
+    public List<String> getUsers() {
+        return new ArrayList<>(blocksByEmail.keySet());
+    }
+
+    /**
+     * Loads a single user's profile, reading only that user's block.
+     *
+     * @param email the user's email
+     * @return the profile, or null if the user is not in the store
+     * @throws IOException if the store cannot be read
+     */
+    public LogParser.UserProfile readProfile(String email) throws IOException {
+        long[] block = blocksByEmail.get(email);
+        if (block == null) {
+            return null;
+        }
+        ByteBuffer data = readFully(block[0], (int) block[1]);
+        LogParser.UserProfile profile = new LogParser.UserProfile(emails.get((int) readVarLong(data)));
+
+        long operationCount = readVarLong(data);
+        for (long o = 0; o < operationCount; o++) {
+            String operation = operations.get((int) readVarLong(data));
+            int activityCount = (int) readVarLong(data);
+            long[] timestamps = new long[activityCount];
+            long previous = 0;
+            for (int a = 0; a < activityCount; a++) {
+                previous += unzigzag(readVarLong(data));
+                timestamps[a] = previous;
+            }
+            LogParser.OperationDetails details = new LogParser.OperationDetails();
+            for (int a = 0; a < activityCount; a++) {
+                String action = readAction((int) readVarLong(data));
+                details.addOperation(new LogParser.Activity(timestamps[a], operation, action));
+            }
+
+            int operationTotal = (int) readVarLong(data);
+            for (String granularity : ROLLUP_GRANULARITIES) {
+                long bucketCount = readVarLong(data);
+                long bucket = 0;
+                for (long b = 0; b < bucketCount; b++) {
+                    bucket += unzigzag(readVarLong(data));
+                    details.getRollup().restore(granularity, bucket, (int) readVarLong(data));
+                }
+            }
+            details.restoreOperationCount(operationTotal);
+            profile.restoreOperation(operation, details);
+        }
+        return profile;
+    }
+
+    /**
+     * Loads every stored profile.
+     *
+     * @return the profiles keyed by email, in stored order
+     * @throws IOException if the store cannot be read
+     */
+    public Map<String, LogParser.UserProfile> readAll() throws IOException {
+        Map<String, LogParser.UserProfile> profiles = new LinkedHashMap<>();
+        for (String email : blocksByEmail.keySet()) {
+            profiles.put(email, readProfile(email));
+        }
+        return Collections.unmodifiableMap(profiles);
+    }
+
+    private String readAction(int id) throws IOException {
+        String cached = actionCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        if (id < 0 || id >= actionCount) {
+            throw new IOException("Invalid action id " + id);
+        }
+        ByteBuffer bounds = readFully(actionsOffset + Integer.BYTES + (long) id * Long.BYTES, 2 * Long.BYTES);
+        long start = bounds.getLong();
+        long end = bounds.getLong();
+        long stringsOffset = actionsOffset + Integer.BYTES + (long) (actionCount + 1) * Long.BYTES;
+        ByteBuffer bytes = readFully(stringsOffset + start, (int) (end - start));
+        String action = StandardCharsets.UTF_8.decode(bytes).toString();
+        actionCache.put(id, action);
+        return action;
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of profile store");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static List<String> readStrings(ByteBuffer data) {
+        int count = (int) readVarLong(data);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = (int) readVarLong(data);
+            ByteBuffer bytes = data.slice(data.position(), length);
+            values.add(StandardCharsets.UTF_8.decode(bytes).toString());
+            data.position(data.position() + length);
+        }
+        return values;
+    }
+
+    private static long readVarLong(ByteBuffer data) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.softwareloggingapp.lps;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes structured user profiles in the compact binary LPS format.
+ *
+ * <pre>
+ * header        magic "LPS1", version byte
+ * operations    varint count, then length-prefixed UTF-8 strings
+ * emails        varint count, then length-prefixed UTF-8 strings
+ * actions       int count, (count + 1) fixed-width long offsets, then the concatenated UTF-8 strings
+ * user blocks   per user: varint email id, varint operation count, then per operation:
+ *               varint operation id, varint retained activity count, a column of zigzag-varint
+ *               epoch-millis deltas, a column of varint action ids, varint total activity count,
+ *               and the per-minute, per-hour and per-day rollups, each as varint bucket count
+ *               followed by (zigzag-varint bucket start delta, varint count) pairs
+ * index         varint user count, then per user: varint email id, long block offset, int block length
+ * trailer       long offset of the operations section, long offset of the emails section,
+ *               long offset of the actions section, long offset of the index, magic "LPS1"
+ * </pre>
+ *
+ * Emails, operation types and action messages are dictionary-encoded, and timestamps are
+ * delta-encoded. The index footer lets {@link ProfileStoreReader} load one user's block
+ * without reading the rest of the file.
+ */
+public class ProfileStoreWriter {
+
+    static final int MAGIC = 0x4C505331; // "LPS1"
+    static final byte VERSION = 2;
+    static final int TRAILER_SIZE = 4 * Long.BYTES + Integer.BYTES;
+
+    private ProfileStoreWriter() {
+    }
+
+    /**
+     * Writes the profiles to a temporary file and atomically renames it over the target.
+     *
+     * @param target   the store file to write
+     * @param profiles the profiles, in the order they should be stored
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path target, List<LogParser.UserProfile> profiles) throws IOException {
+        Map<String, Integer> operations = new LinkedHashMap<>();
+        Map<String, Integer> emails = new LinkedHashMap<>();
+        Map<String, Integer> actions = new LinkedHashMap<>();
+        for (LogParser.UserProfile profile : profiles) {
+            emails.putIfAbsent(profile.getUser(), emails.size());
+            profile.getOperations().forEach((operation, details) -> {
+                operations.putIfAbsent(operation, operations.size());
+                for (LogParser.Activity activity : details.getOperations()) {
+                    actions.putIfAbsent(activity.getAction() == null ? "" : activity.getAction(), actions.size());
+                }
+            });
+        }
+
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (CountingOutputStream counter = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)));
+             DataOutputStream out = new DataOutputStream(counter)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+
+            long operationsOffset = counter.count;
+            writeStrings(out, operations.keySet());
+            long emailsOffset = counter.count;
+            writeStrings(out, emails.keySet());
+            long actionsOffset = counter.count;
+            writeStringTable(out, actions.keySet());
+
+            List<long[]> index = new ArrayList<>(); // email id, block offset, block length
+            ByteArrayOutputStream block = new ByteArrayOutputStream();
+            for (LogParser.UserProfile profile : profiles) {
+                block.reset();
+                writeUserBlock(new DataOutputStream(block), profile, emails, operations, actions);
+                index.add(new long[]{emails.get(profile.getUser()), counter.count, block.size()});
+                block.writeTo(out);
+            }
+
+            long indexOffset = counter.count;
+            writeVarLong(out, index.size());
+            for (long[] entry : index) {
+                writeVarLong(out, entry[0]);
+                out.writeLong(entry[1]);
+                out.writeInt((int) entry[2]);
+            }
+
+            out.writeLong(operationsOffset);
+            out.writeLong(emailsOffset);
+            out.writeLong(actionsOffset);
+            out.writeLong(indexOffset);
+            out.writeInt(MAGIC);
+        }
+
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeUserBlock(DataOutputStream out, LogParser.UserProfile profile, Map<String, Integer> emails,
+                                       Map<String, Integer> operations, Map<String, Integer> actions) throws IOException {
+        writeVarLong(out, emails.get(profile.getUser()));
+        writeVarLong(out, profile.getOperations().size());
+        for (Map.Entry<String, LogParser.OperationDetails> entry : profile.getOperations().entrySet()) {
+            List<LogParser.Activity> activities = entry.getValue().getOperations();
+            writeVarLong(out, operations.get(entry.getKey()));
+            writeVarLong(out, activities.size());
+
+            long previous = 0;
+            for (LogParser.Activity activity : activities) {
+                long timestamp = activity.getTimestamp();
+                writeVarLong(out, zigzag(timestamp - previous));
+                previous = timestamp;
+            }
+            for (LogParser.Activity activity : activities) {
+                writeVarLong(out, actions.get(activity.getAction() == null ? "" : activity.getAction()));
+            }
+
+            writeVarLong(out, entry.getValue().getOperationCount());
+            ActivityRollup rollup = entry.getValue().getRollup();
+            writeBuckets(out, rollup.getPerMinute());
+            writeBuckets(out, rollup.getPerHour());
+            writeBuckets(out, rollup.getPerDay());
+        }
+    }
+
+    private static void writeBuckets(DataOutputStream out, Map<Long, Integer> buckets) throws IOException {
+        writeVarLong(out, buckets.size());
+        long previous = 0;
+        for (Map.Entry<Long, Integer> bucket : buckets.entrySet()) {
+            writeVarLong(out, zigzag(bucket.getKey() - previous));
+            writeVarLong(out, bucket.getValue());
+            previous = bucket.getKey();
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, Iterable<String> values) throws IOException {
+        List<byte[]> encoded = new ArrayList<>();
+        values.forEach(value -> encoded.add(value.getBytes(StandardCharsets.UTF_8)));
+        writeVarLong(out, encoded.size());
+        for (byte[] bytes : encoded) {
+            writeVarLong(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Writes strings with a fixed-width offset table, so any single entry can be read directly.
+     */
+    private static void writeStringTable(DataOutputStream out, Iterable<String> values) throws IOException {
+        List<byte[]> encoded = new ArrayList<>();
+        values.forEach(value -> encoded.add(value.getBytes(StandardCharsets.UTF_8)));
+        out.writeInt(encoded.size());
+        long offset = 0;
+        for (byte[] bytes : encoded) {
+            out.writeLong(offset);
+            offset += bytes.length;
+        }
+        out.writeLong(offset);
+        for (byte[] bytes : encoded) {
+            out.write(bytes);
+        }
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Tracks the number of bytes written, as a long so that files above 2 GiB are supported.
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private long count;
+
+        CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.softwareloggingapp.lps;
+
+import java.util.Arrays;
+
+/**
+ * A table assigning dense int IDs to strings such as user emails, logger names or thread names.
+ * Each distinct value is stored once, and looking up a character range of another string that is
+ * already in the table allocates nothing. Profiles keep the compact IDs of their values and resolve
+ * them back to the single canonical String only when they are formatted.
+ * IDs are assigned from 0 in order of first appearance; {@link #NONE} stands for a null value.
+ */
+public class SymbolTable {
+
+    public static final int NONE = -1; // ID of a null value
+
+    private static final int INITIAL_CAPACITY = 256; // Must be a power of two
+
+    private int[] slots = new int[INITIAL_CAPACITY]; // Open-addressing hash table of ID + 1, 0 when empty
+    private String[] symbols = new String[INITIAL_CAPACITY / 2]; // Values, by ID
+    private int size; // Number of values, also the next ID
+
+    /**
+     * Returns the ID of {@code source.substring(start, end)}, adding it to the table if needed.
+     *
+     * @param source the string holding the characters
+     * @param start  index of the first character, inclusive
+     * @param end    index of the last character, exclusive
+     * @return the ID of that value
+     */
+    public synchronized int intern(String source, int start, int end) {
+        int mask = slots.length - 1;
+        int slot = hash(source, start, end) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            String candidate = symbols[entry - 1];
+            if (candidate.length() == end - start && candidate.regionMatches(0, source, start, end - start)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = size++;
+        if (id == symbols.length) {
+            symbols = Arrays.copyOf(symbols, id * 2);
+        }
+        symbols[id] = source.substring(start, end);
+        slots[slot] = id + 1;
+        if (size * 2 > slots.length) {
+            resize();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the ID of a value, adding it to the table if needed.
+     *
+     * @param value the value, may be null
+     * @return the ID of the value, or {@link #NONE} if it is null
+     */
+    public int intern(String value) {
+        return value == null ? NONE : intern(value, 0, value.length());
+    }
+
+    /**
+     * Returns the canonical value of an ID.
+     *
+     * @param id an ID returned by this table, or {@link #NONE}
+     * @return the value, or null for {@link #NONE}
+     */
+    public synchronized String nameOf(int id) {
+        return id == NONE ? null : symbols[id];
+    }
+
+    /**
+     * Returns the number of distinct values held by the table.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Computes the same hash as {@link String#hashCode()}, spread over the low bits.
+     */
+    private static int hash(CharSequence source, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private void resize() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(symbols[id], 0, symbols[id].length()) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.softwareloggingapp.lps;
+
+import java.util.Arrays;
+
+/**
+ * A growable buffer of epoch-millis timestamps, kept in ascending order in a {@code long[]}.
+ * Timestamps are expected in roughly chronological order: appending one is constant time, and a
+ * slightly late one is moved to its place past the few later ones. Because the buffer is sorted,
+ * time-range queries are answered with two binary searches.
+ */
+public class TimestampBuffer {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a timestamp at its place in the buffer.
+     *
+     * @param epochMillis the timestamp in epoch milliseconds
+     */
+    public void add(long epochMillis) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int index = size++;
+        while (index > 0 && values[index - 1] > epochMillis) {
+            values[index] = values[index - 1]; // Shift the later timestamps of an out-of-order event
+            index--;
+        }
+        values[index] = epochMillis;
+    }
+
+    /**
+     * Returns the number of timestamps between two instants.
+     *
+     * @param from the start of the range in epoch milliseconds, inclusive
+     * @param to   the end of the range in epoch milliseconds, exclusive
+     * @return the number of timestamps in the range
+     */
+    public int countBetween(long from, long to) {
+        return Math.max(0, lowerBound(to) - lowerBound(from));
+    }
+
+    /**
+     * Returns the timestamps between two instants.
+     *
+     * @param from the start of the range in epoch milliseconds, inclusive
+     * @param to   the end of the range in epoch milliseconds, exclusive
+     * @return the timestamps in the range, in ascending order
+     */
+    public long[] between(long from, long to) {
+        int start = lowerBound(from);
+        return Arrays.copyOfRange(values, start, Math.max(start, lowerBound(to)));
+    }
+
+    /**
+     * Returns the index of the first timestamp not before the given instant.
+     */
+    private int lowerBound(long epochMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < epochMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of the timestamps, in ascending order.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
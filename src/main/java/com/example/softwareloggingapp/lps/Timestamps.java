@@ -0,0 +1,131 @@
+package com.example.softwareloggingapp.lps;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions for the ISO-8601 timestamps written by the logback encoder.
+ * Timestamps are parsed once, when an event is ingested, and kept as epoch milliseconds.
+ * A missing or malformed timestamp parses to {@link #INVALID}, and the event is skipped rather than
+ * filed at the epoch, where it would distort time-range queries and rollups.
+ */
+public final class Timestamps {
+
+    /**
+     * Returned by {@link #toEpochMillis} for a missing or malformed timestamp.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    private Timestamps() {
+    }
+
+    /**
+     * Parses an ISO-8601 timestamp with offset, e.g. {@code 2024-12-04T20:51:15.229572812+01:00}.
+     * The layout written by the encoder is decoded directly; anything else goes through
+     * {@link OffsetDateTime#parse}.
+     *
+     * @param timestamp the timestamp, may be null
+     * @return the timestamp in epoch milliseconds, or {@link #INVALID} if it is missing or malformed
+     */
+    public static long toEpochMillis(String timestamp) {
+        if (timestamp == null) {
+            return INVALID;
+        }
+        long parsed = parseEncoderLayout(timestamp);
+        if (parsed != INVALID) {
+            return parsed;
+        }
+        try {
+            return OffsetDateTime.parse(timestamp).toInstant().toEpochMilli();
+        } catch (DateTimeParseException | ArithmeticException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Decodes {@code yyyy-MM-ddTHH:mm:ss[.fraction](Z|+HH:mm|-HH:mm)} without allocating.
+     *
+     * @return the epoch milliseconds, or {@link #INVALID} if the text has another layout
+     */
+    private static long parseEncoderLayout(String text) {
+        int length = text.length();
+        if (length < 20 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return INVALID;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0 || hour > 23 || minute > 59 || second > 59) {
+            return INVALID;
+        }
+
+        int position = 19;
+        int millis = 0;
+        if (text.charAt(position) == '.') {
+            int fractionStart = ++position;
+            while (position < length && Character.isDigit(text.charAt(position))) {
+                if (position - fractionStart < 3) {
+                    millis = millis * 10 + (text.charAt(position) - '0');
+                }
+                position++;
+            }
+            int fractionDigits = position - fractionStart;
+            if (fractionDigits == 0 || fractionDigits > 9) {
+                return INVALID;
+            }
+            for (int i = fractionDigits; i < 3; i++) {
+                millis *= 10; // Shorter fractions, e.g. ".5" is 500 ms
+            }
+        }
+
+        int offsetSeconds;
+        if (position == length - 1 && text.charAt(position) == 'Z') {
+            offsetSeconds = 0;
+        } else if (position == length - 6 && (text.charAt(position) == '+' || text.charAt(position) == '-')
+                && text.charAt(position + 3) == ':') {
+            int offsetHours = digits(text, position + 1, 2);
+            int offsetMinutes = digits(text, position + 4, 2);
+            if ((offsetHours | offsetMinutes) < 0 || offsetHours > 18 || offsetMinutes > 59) {
+                return INVALID;
+            }
+            offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (text.charAt(position) == '-' ? -1 : 1);
+        } else {
+            return INVALID;
+        }
+
+        long epochDay;
+        try {
+            epochDay = LocalDate.of(year, month, day).toEpochDay(); // Validates the day of the month
+        } catch (DateTimeException e) {
+            return INVALID;
+        }
+        long secondOfDay = hour * 3600L + minute * 60L + second - offsetSeconds;
+        return epochDay * MILLIS_PER_DAY + secondOfDay * 1000 + millis;
+    }
+
+    /**
+     * Reads a fixed number of decimal digits.
+     *
+     * @return the value, or -1 if a character is not a digit
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
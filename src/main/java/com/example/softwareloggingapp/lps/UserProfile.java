@@ -1,8 +1,6 @@
 package com.example.softwareloggingapp.lps;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -13,7 +11,7 @@ public class UserProfile {
     private String email; // The email identifier of the user.
     private Map<String, Integer> operationCounts; // Tracks the count of each operation type performed by the user.
     private String primaryOperation; // The most frequently performed operation type by the user.
-    private List<String> timestamps; // List of timestamps corresponding to the operations.
+    private TimestampBuffer timestamps; // Epoch-millis timestamps of the operations, in ascending order.
 
     /**
      * Constructor to initialize the UserProfile with a user's email.
@@ -23,7 +21,7 @@ public class UserProfile {
     public UserProfile(String email) {
         this.email = email;
         this.operationCounts = new HashMap<>();
-        this.timestamps = new ArrayList<>();
+        this.timestamps = new TimestampBuffer();
     }
 
     /**
@@ -38,12 +36,38 @@ public class UserProfile {
     }
 
     /**
-     * Adds a timestamp to the list of timestamps for the user's operations.
+     * Adds a timestamp to the timestamps of the user's operations.
      *
-     * @param timestamp The timestamp to add.
+     * @param timestamp The ISO-8601 timestamp to add, parsed once into epoch milliseconds.
+     * @return false if the timestamp is missing or malformed, and was therefore not added.
      */
-    public void addTimestamp(String timestamp) {
-        this.timestamps.add(timestamp);
+    public boolean addTimestamp(String timestamp) {
+        long epochMillis = Timestamps.toEpochMillis(timestamp);
+        if (epochMillis == Timestamps.INVALID) {
+            return false;
+        }
+        addTimestamp(epochMillis);
+        return true;
+    }
+
+    /**
+     * Adds a timestamp to the timestamps of the user's operations.
+     *
+     * @param epochMillis The timestamp to add, in epoch milliseconds.
+     */
+    public void addTimestamp(long epochMillis) {
+        this.timestamps.add(epochMillis);
+    }
+
+    /**
+     * Counts the user's operations performed between two instants.
+     *
+     * @param from The start of the range in epoch milliseconds, inclusive.
+     * @param to   The end of the range in epoch milliseconds, exclusive.
+     * @return The number of operations in the range.
+     */
+    public int countOperationsBetween(long from, long to) {
+        return timestamps.countBetween(from, to);
     }
 
     /**
@@ -70,7 +94,7 @@ public class UserProfile {
         return primaryOperation;
     }
 
-    public List<String> getTimestamps() {
+    public TimestampBuffer getTimestamps() {
         return timestamps;
     }
 
@@ -86,7 +110,7 @@ public class UserProfile {
         this.primaryOperation = primaryOperation;
     }
 
-    public void setTimestamps(List<String> timestamps) {
+    public void setTimestamps(TimestampBuffer timestamps) {
         this.timestamps = timestamps;
     }
 }
@@ -1,8 +1,6 @@
 package com.example.softwareloggingapp.lps;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,12 +15,15 @@ public class UserProfileBuilder {
     // Map to store operation counts categorized by operation types
     private Map<String, Integer> operationCounts = new HashMap<>();
 
-    // List to store timestamps of operations performed by the user
-    private List<String> timestamps = new ArrayList<>();
+    // Epoch-millis timestamps of operations performed by the user, in ascending order
+    private TimestampBuffer timestamps = new TimestampBuffer();
 
     // Primary operation type performed by the user
     private String primaryOperation;
 
+    // Operations skipped because their timestamp was missing or malformed
+    private int invalidTimestamps;
+
     /**
      * Sets the email for the UserProfile.
      *
@@ -38,12 +39,30 @@ public class UserProfileBuilder {
      * Increments the count of a specific operation and logs its timestamp.
      *
      * @param operation the operation type (e.g., READ, WRITE)
-     * @param timestamp the timestamp of the operation
+     * @param timestamp the ISO-8601 timestamp of the operation, parsed once into epoch milliseconds;
+     *                  an operation whose timestamp is missing or malformed is skipped and counted
+     *                  by {@link #getInvalidTimestamps()}
      * @return the current instance of UserProfileBuilder for method chaining
      */
     public UserProfileBuilder incrementOperation(String operation, String timestamp) {
+        long epochMillis = Timestamps.toEpochMillis(timestamp);
+        if (epochMillis == Timestamps.INVALID) {
+            invalidTimestamps++;
+            return this;
+        }
+        return incrementOperation(operation, epochMillis);
+    }
+
+    /**
+     * Increments the count of a specific operation and logs its timestamp.
+     *
+     * @param operation   the operation type (e.g., READ, WRITE)
+     * @param epochMillis the timestamp of the operation, in epoch milliseconds
+     * @return the current instance of UserProfileBuilder for method chaining
+     */
+    public UserProfileBuilder incrementOperation(String operation, long epochMillis) {
         operationCounts.put(operation, operationCounts.getOrDefault(operation, 0) + 1);
-        timestamps.add(timestamp);
+        timestamps.add(epochMillis);
         return this;
     }
 
@@ -73,4 +92,13 @@ public class UserProfileBuilder {
         profile.setTimestamps(timestamps); // Set the operation timestamps
         return profile;
     }
+
+    /**
+     * Returns the number of operations skipped because their timestamp was missing or malformed.
+     *
+     * @return the number of skipped operations
+     */
+    public int getInvalidTimestamps() {
+        return invalidTimestamps;
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.softwareloggingapp.model;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of a bulk write, either for a single batch or accumulated over all batches.
+ */
+@Data
+public class BulkResult {
+    /**
+     * The maximum number of error messages kept, so a failing import does not grow the response without bound.
+     */
+    public static final int MAX_ERRORS = 100;
+
+    private int batches; // Number of batches written
+    private long received; // Number of items submitted
+    private long inserted;
+    private long matched;
+    private long modified;
+    private long deleted;
+    private long failed; // Number of operations rejected by the database
+    private List<String> errors = new ArrayList<>(); // First error messages, see MAX_ERRORS
+
+    /**
+     * Creates the result of one batch.
+     *
+     * @param size        the number of items in the batch
+     * @param writeResult the counts reported by the database, for a failed batch those of the operations it applied
+     * @param writeErrors the operations rejected by the database
+     * @return the result
+     */
+    public static BulkResult ofBatch(int size, BulkWriteResult writeResult, List<BulkWriteError> writeErrors) {
+        BulkResult result = new BulkResult();
+        result.setBatches(1);
+        result.setReceived(size);
+        result.setInserted(writeResult.getInsertedCount());
+        result.setMatched(writeResult.getMatchedCount());
+        result.setModified(writeResult.getModifiedCount());
+        result.setDeleted(writeResult.getDeletedCount());
+        result.setFailed(writeErrors.size());
+        for (BulkWriteError error : writeErrors) {
+            if (result.getErrors().size() < MAX_ERRORS) {
+                result.getErrors().add("Operation " + error.getIndex() + ": " + error.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the counters and errors of a batch to this result.
+     *
+     * @param batch the result of one batch
+     * @return the current instance for method chaining
+     */
+    public BulkResult add(BulkResult batch) {
+        batches += batch.batches;
+        received += batch.received;
+        inserted += batch.inserted;
+        matched += batch.matched;
+        modified += batch.modified;
+        deleted += batch.deleted;
+        failed += batch.failed;
+        for (String error : batch.errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+        return this;
+    }
+}
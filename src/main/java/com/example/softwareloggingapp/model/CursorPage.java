@@ -0,0 +1,27 @@
+package com.example.softwareloggingapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * The continuation token encodes the position after the last item, so the next page is
+ * read with an indexed range query instead of skipping over the previous pages.
+ *
+ * @param <T> the type of the listed items
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    /**
+     * The items of this page, in listing order.
+     */
+    private List<T> items;
+
+    /**
+     * The token to pass to fetch the next page, or null if this is the last page.
+     */
+    private String nextToken;
+}
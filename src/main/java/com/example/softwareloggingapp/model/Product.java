@@ -2,6 +2,8 @@ package com.example.softwareloggingapp.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
@@ -12,6 +14,7 @@ import java.time.LocalDate;
  */
 @Data
 @Document
+@CompoundIndex(name = "price_id", def = "{'price': 1, '_id': 1}") // Supports paging and sorting by price
 public class Product {
     /**
      * The unique identifier for a product.
@@ -34,4 +37,13 @@ public class Product {
      * The expiration date of the product, represented as a string.
      */
     private String expirationDate;
+
+    /**
+     * The version of the product, 0 when created and incremented on every update.
+     * Annotated with @Version so that updates based on a stale copy are rejected.
+     * A product without a version is new: saving it always inserts, even with an ID that is already taken.
+     * Creating a product therefore clears any version sent by the client.
+     */
+    @Version
+    private Long version;
 }
@@ -2,6 +2,7 @@ package com.example.softwareloggingapp.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
@@ -19,6 +20,7 @@ public class User {
 
     private int age; // Age of the user.
 
+    @Indexed(unique = true) // Backs the lookup by email used for authentication.
     private String email; // Email address of the user, used for identification and authentication.
 
     private String password; // Password of the user, used for authentication.
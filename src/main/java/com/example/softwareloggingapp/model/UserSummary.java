@@ -0,0 +1,21 @@
+package com.example.softwareloggingapp.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+
+/**
+ * Read-only view of a User for listings.
+ * It has no password field, and queries projecting into it only fetch the fields below.
+ */
+@Data // Lombok annotation to generate boilerplate code like getters, setters, and toString methods.
+public class UserSummary {
+
+    @Id // Mapped from the identifier of the user document.
+    private String id; // Unique identifier for the user.
+
+    private String name; // Name of the user.
+
+    private int age; // Age of the user.
+
+    private String email; // Email address of the user.
+}
@@ -0,0 +1,194 @@
+package com.example.softwareloggingapp.reactive.controller;
+
+import com.example.softwareloggingapp.model.BulkResult;
+import com.example.softwareloggingapp.model.CursorPage;
+import com.example.softwareloggingapp.model.Product;
+import com.example.softwareloggingapp.reactive.service.ReactiveProductService;
+import com.example.softwareloggingapp.spoon.ProfileGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+import static com.example.softwareloggingapp.logging.OperationFields.operation;
+
+/**
+ * WebFlux variant of {@link com.example.softwareloggingapp.controller.ProductController}, active
+ * when the application runs on the reactive stack (spring.main.web-application-type=reactive).
+ * It serves the same endpoints and logs the same operations, once they are over. Listings are written as the
+ * database cursor is read, with backpressure from the client connection, and bulk request
+ * bodies are decoded as they arrive.
+ * Profile generation only queues a poll on the generator's own log reader, so it never blocks an
+ * event loop thread and does not delay the responses.
+ */
+@RestController
+@RequestMapping("/api/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveProductController {
+
+    private final ReactiveProductService productService;
+    private final ProfileGenerator profileGenerator;
+
+    @PostMapping("/create")
+    public Mono<ResponseEntity<String>> addProduct(@RequestHeader("user-email") String userEmail, @RequestBody Product product) {
+        long start = System.nanoTime();
+        String[] productId = {product.getId()};
+        return logged(productService.addProduct(product).doOnNext(savedProduct -> productId[0] = savedProduct.getId()),
+                succeeded -> log.info("User {} performed WRITE operation: adding product {}", userEmail, product,
+                        operation("WRITE", userEmail, "product", productId[0], start, succeeded))) // Structured fields for the parsers
+                .map(savedProduct -> ResponseEntity.status(HttpStatus.CREATED).body("Product added successfully"))
+                .onErrorResume(DuplicateKeyException.class, // Creation never overwrites
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body("Product already exists!")));
+    }
+
+    @GetMapping("/readProductById/{id}")
+    public Mono<Product> getProductById(@RequestHeader("user-email") String userEmail, @PathVariable String id) {
+        long start = System.nanoTime();
+        return logged(productService.getProductById(id), succeeded ->
+                log.info("User {} performed READ operation: fetching product with ID {}", userEmail, id,
+                        operation("READ", userEmail, "product", id, start, succeeded)));
+    }
+
+    @DeleteMapping("/deleteProduct/{id}")
+    public Mono<Void> deleteProduct(@RequestHeader("user-email") String userEmail, @PathVariable String id) {
+        long start = System.nanoTime();
+        return logged(productService.deleteProduct(id), succeeded ->
+                log.warn("User {} performed DELETE operation: deleting product with ID {}", userEmail, id,
+                        operation("DELETE", userEmail, "product", id, start, succeeded)));
+    }
+
+    @PutMapping("/updateProduct")
+    public Mono<Product> updateProduct(@RequestHeader("user-email") String userEmail, @RequestBody Product product) {
+        long start = System.nanoTime();
+        return logged(productService.updateProduct(product), succeeded ->
+                log.info("User {} performed WRITE operation: updating product {}", userEmail, product,
+                        operation("WRITE", userEmail, "product", product.getId(), start, succeeded)));
+    }
+
+    @GetMapping("/readAllProducts")
+    public Flux<Product> getAllProducts(@RequestHeader("user-email") String userEmail) {
+        long start = System.nanoTime();
+        return logged(productService.getAllProducts(), succeeded ->
+                log.info("User {} performed READ operation: fetching all products", userEmail,
+                        operation("READ", userEmail, "product", null, start, succeeded))); // Logged once the array is over
+    }
+
+    // Bulk endpoints accept a JSON array or NDJSON, decoded one item at a time while the batches are written.
+    // Each written batch is logged, failing if any of its operations failed; a request failing between
+    // batches, e.g. on malformed input, logs one more failed operation.
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<BulkResult> bulkAddProducts(@RequestHeader("user-email") String userEmail,
+                                            @RequestParam(defaultValue = "true") boolean ordered,
+                                            @RequestParam(defaultValue = "0") int batchSize,
+                                            @RequestBody Flux<Product> products) {
+        long[] batchStart = {System.nanoTime()};
+        return productService.bulkAddProducts(products, ordered, batchSize, batch -> {
+                    log.info("User {} performed WRITE operation: bulk adding {} products, {} inserted, {} failed",
+                            userEmail, batch.getReceived(), batch.getInserted(), batch.getFailed(),
+                            operation("WRITE", userEmail, "product", null, batchStart[0], batch.getFailed() == 0));
+                    batchStart[0] = System.nanoTime();
+                })
+                .doOnError(e -> log.info("User {} performed WRITE operation: bulk adding products failed", userEmail,
+                        operation("WRITE", userEmail, "product", null, batchStart[0], false)))
+                .doFinally(signal -> updateProfiles());
+    }
+
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<BulkResult> bulkUpdateProducts(@RequestHeader("user-email") String userEmail,
+                                               @RequestParam(defaultValue = "true") boolean ordered,
+                                               @RequestParam(defaultValue = "0") int batchSize,
+                                               @RequestBody Flux<Product> products) {
+        long[] batchStart = {System.nanoTime()};
+        return productService.bulkUpdateProducts(products, ordered, batchSize, batch -> {
+                    log.info("User {} performed WRITE operation: bulk updating {} products, {} matched, {} failed",
+                            userEmail, batch.getReceived(), batch.getMatched(), batch.getFailed(),
+                            operation("WRITE", userEmail, "product", null, batchStart[0], batch.getFailed() == 0));
+                    batchStart[0] = System.nanoTime();
+                })
+                .doOnError(e -> log.info("User {} performed WRITE operation: bulk updating products failed", userEmail,
+                        operation("WRITE", userEmail, "product", null, batchStart[0], false)))
+                .doFinally(signal -> updateProfiles());
+    }
+
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<BulkResult> bulkDeleteProducts(@RequestHeader("user-email") String userEmail,
+                                               @RequestParam(defaultValue = "true") boolean ordered,
+                                               @RequestParam(defaultValue = "0") int batchSize,
+                                               @RequestBody Flux<JsonNode> ids) { // A Flux<String> body would be split into lines, not JSON strings
+        long[] batchStart = {System.nanoTime()};
+        return productService.bulkDeleteProducts(ids.map(JsonNode::asText), ordered, batchSize, batch -> {
+                    log.warn("User {} performed DELETE operation: bulk deleting {} products, {} deleted, {} failed",
+                            userEmail, batch.getReceived(), batch.getDeleted(), batch.getFailed(),
+                            operation("DELETE", userEmail, "product", null, batchStart[0], batch.getFailed() == 0));
+                    batchStart[0] = System.nanoTime();
+                })
+                .doOnError(e -> log.warn("User {} performed DELETE operation: bulk deleting products failed", userEmail,
+                        operation("DELETE", userEmail, "product", null, batchStart[0], false)))
+                .doFinally(signal -> updateProfiles());
+    }
+
+    @GetMapping("/readProductsPage")
+    public Mono<CursorPage<Product>> getProductsPage(@RequestHeader("user-email") String userEmail,
+                                                     @RequestParam(defaultValue = "id") String sort,
+                                                     @RequestParam(defaultValue = "50") int limit,
+                                                     @RequestParam(required = false) String token) {
+        long start = System.nanoTime();
+        return logged(productService.getProductsPage(sort, limit, token), succeeded ->
+                log.info("User {} performed READ operation: fetching products page sorted by {}", userEmail, sort,
+                        operation("READ", userEmail, "product", null, start, succeeded)));
+    }
+
+    @GetMapping(value = "/streamAllProducts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Product> streamAllProducts(@RequestHeader("user-email") String userEmail) {
+        long start = System.nanoTime();
+        return logged(productService.getAllProducts(), succeeded ->
+                log.info("User {} performed READ operation: fetching all products as a stream", userEmail,
+                        operation("READ", userEmail, "product", null, start, succeeded))); // Logged once the stream is over
+    }
+
+    @GetMapping("/most-expensive-products")
+    public Flux<Product> getTopExpensiveProducts(@RequestHeader("user-email") String userEmail) {
+        long start = System.nanoTime();
+        return logged(productService.getTopExpensiveProducts(), succeeded ->
+                log.info("User {} searched for the most expensive products", userEmail,
+                        operation("MOST_EXPENSIVE_SEARCH", userEmail, "product", null, start, succeeded)));
+    }
+
+    // Logs an operation once it is over, whether it succeeded, failed or was cancelled by the client, then updates the profiles
+    private <T> Mono<T> logged(Mono<T> operation, Consumer<Boolean> logOperation) {
+        boolean[] succeeded = {false};
+        return operation
+                .doOnSuccess(result -> succeeded[0] = true)
+                .doFinally(signal -> {
+                    logOperation.accept(succeeded[0]);
+                    updateProfiles();
+                });
+    }
+
+    private <T> Flux<T> logged(Flux<T> operation, Consumer<Boolean> logOperation) {
+        boolean[] succeeded = {false};
+        return operation
+                .doOnComplete(() -> succeeded[0] = true)
+                .doFinally(signal -> {
+                    logOperation.accept(succeeded[0]);
+                    updateProfiles();
+                });
+    }
+
+    // Queues a profile update; an event still buffered by the async appender is read by the next periodic poll
+    private void updateProfiles() {
+        profileGenerator.generateAggregatedProfiles();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.softwareloggingapp.reactive.controller;
+
+import com.example.softwareloggingapp.model.CursorPage;
+import com.example.softwareloggingapp.model.User;
+import com.example.softwareloggingapp.model.UserSummary;
+import com.example.softwareloggingapp.reactive.service.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+
+import static com.example.softwareloggingapp.logging.OperationFields.operation;
+
+/**
+ * WebFlux variant of {@link com.example.softwareloggingapp.controller.UserController}, active
+ * when the application runs on the reactive stack (spring.main.web-application-type=reactive).
+ */
+@RestController
+@RequestMapping("/api/users") // Base URL for user-related endpoints
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor // Automatically generates a constructor for required fields
+@Slf4j // Enables SLF4J logging for this class
+public class ReactiveUserController {
+    private final ReactiveUserService userService; // Dependency for user-related operations
+
+    /**
+     * Endpoint to create a new user.
+     * @param user The user details sent in the request body.
+     * @return The created user object.
+     */
+    @PostMapping("/createUser")
+    public Mono<User> createUser(@RequestBody User user) {
+        log.info("Request to create user: {}", user);
+        long start = System.nanoTime();
+        return userService.createUser(user)
+                .doOnNext(createdUser -> log.info("User created successfully: {}", createdUser,
+                        operation("CREATE", createdUser.getEmail(), "user", createdUser.getId(), start, true)))
+                .doOnError(e -> log.warn("Failed to create user: {}", user,
+                        operation("CREATE", user.getEmail(), "user", user.getId(), start, false)));
+    }
+
+    /**
+     * Endpoint to fetch all users, written as a JSON array while they are read from the database.
+     * @return All users.
+     */
+    @GetMapping("/readAllUsers")
+    public Flux<User> getAllUsers() {
+        log.info("Request to fetch all users.");
+        long start = System.nanoTime();
+        long[] count = {0};
+        return userService.getAllUsers()
+                .doOnNext(user -> count[0]++)
+                .doFinally(signal -> {
+                    if (signal == SignalType.ON_COMPLETE) {
+                        log.info("Total users fetched: {}", count[0], operation("READ", null, "user", null, start, true));
+                    } else { // Failed, or cancelled by the client
+                        log.warn("Failed to fetch all users.", operation("READ", null, "user", null, start, false));
+                    }
+                });
+    }
+
+    /**
+     * Endpoint to fetch one page of users, without their passwords.
+     * @param limit The maximum number of users in the page.
+     * @param token The continuation token returned with the previous page, if any.
+     * @return The page of users and the token of the next page.
+     */
+    @GetMapping("/readUsersPage")
+    public Mono<CursorPage<UserSummary>> getUsersPage(@RequestParam(defaultValue = "50") int limit,
+                                                      @RequestParam(required = false) String token) {
+        log.info("Request to fetch a page of {} users.", limit);
+        return userService.getUsersPage(limit, token);
+    }
+
+    /**
+     * Endpoint to stream all users, without their passwords, as newline-delimited JSON.
+     * Users are written as they are read from the database cursor.
+     * @return The users.
+     */
+    @GetMapping(value = "/streamAllUsers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserSummary> streamAllUsers() {
+        log.info("Request to stream all users.");
+        return userService.getUserSummaries();
+    }
+
+    /**
+     * Endpoint to authenticate a user.
+     * @param credentials A map containing the user's email and password.
+     * @return Whether the authentication was successful.
+     */
+    @PostMapping("/authenticate")
+    public Mono<Boolean> authenticateUser(@RequestBody Map<String, String> credentials) {
+        String email = credentials.get("email"); // Extract email from the request body
+        String password = credentials.get("password"); // Extract password from the request body
+
+        long start = System.nanoTime();
+        boolean[] authenticated = {false};
+        return userService.authenticate(email, password)
+                .doOnNext(result -> authenticated[0] = result)
+                .doFinally(signal -> log.info("Authentication attempt for email: {}", email, // Also when the check failed
+                        operation("AUTHENTICATE", email, "user", null, start, authenticated[0])));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.softwareloggingapp.reactive.repository;
+
+import com.example.softwareloggingapp.model.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of {@link com.example.softwareloggingapp.repository.ProductRepository},
+ * used by the reactive stack.
+ */
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+
+    /**
+     * Finds the most expensive products, sorted and limited by the database.
+     *
+     * @param limit the maximum number of products to return
+     * @return the products, most expensive first, ties ordered by ID
+     */
+    Flux<Product> findAllByOrderByPriceDescIdAsc(Limit limit);
+}
@@ -0,0 +1,20 @@
+package com.example.softwareloggingapp.reactive.repository;
+
+import com.example.softwareloggingapp.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.example.softwareloggingapp.repository.UserRepository},
+ * used by the reactive stack.
+ */
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+
+    /**
+     * Finds a user by email, using the unique index on the email field.
+     *
+     * @param email the email to look up
+     * @return the user, or empty if no user has this email
+     */
+    Mono<User> findByEmail(String email);
+}
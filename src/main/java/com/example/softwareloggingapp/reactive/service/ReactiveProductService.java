@@ -0,0 +1,236 @@
+package com.example.softwareloggingapp.reactive.service;
+
+import com.example.softwareloggingapp.model.BulkResult;
+import com.example.softwareloggingapp.model.CursorPage;
+import com.example.softwareloggingapp.model.Product;
+import com.example.softwareloggingapp.reactive.repository.ReactiveProductRepository;
+import com.example.softwareloggingapp.service.ProductQueries;
+import com.example.softwareloggingapp.service.ProductService;
+import com.mongodb.MongoBulkWriteException;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Reactive counterpart of {@link ProductService}, for the WebFlux stack.
+ * It applies the same queries, but has no in-process product cache or price index:
+ * every read goes to the database through the non-blocking driver.
+ * Listings are emitted as the database cursor is read, at the pace requested by the subscriber.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveProductService {
+    // Documents fetched per cursor round trip when listing
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    // Repository for managing Product entities
+    private final ReactiveProductRepository productRepository;
+    // Template for the find-and-modify, keyset and bulk queries
+    private final ReactiveMongoTemplate mongoTemplate;
+    // OpenTelemetry Tracer for distributed tracing
+    private final Tracer tracer;
+    // Default number of products per bulk write
+    @Value("${products.bulk.batch-size:1000}")
+    private int bulkBatchSize;
+    // Number of products returned by getTopExpensiveProducts
+    @Value("${products.most-expensive.count:3}")
+    private int topCount;
+
+    /**
+     * Adds a new product, without ever overwriting a stored one, as {@link ProductService#addProduct} does.
+     * @param product The Product entity to add.
+     * @return The saved Product entity, or a DuplicateKeyException if a product with the same ID already exists.
+     */
+    public Mono<Product> addProduct(Product product) {
+        product.setVersion(null); // With a version, save would update the stored product instead of inserting
+        return traced("addProduct", productRepository.save(product));
+    }
+
+    /**
+     * Retrieves a product by its ID.
+     * @param id The ID of the Product to retrieve.
+     * @return The Product entity, or a RuntimeException if the product is not found.
+     */
+    public Mono<Product> getProductById(String id) {
+        return traced("fetchProductById", productRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Product not found!"))));
+    }
+
+    /**
+     * Deletes a product by its ID.
+     * @param id The ID of the Product to delete.
+     * @return Completes once deleted, or a RuntimeException if the product is not found.
+     */
+    public Mono<Void> deleteProduct(String id) {
+        return traced("deleteProduct", mongoTemplate.remove(Query.query(Criteria.where("id").is(id)), Product.class)
+                .flatMap(result -> result.getDeletedCount() == 0
+                        ? Mono.error(new RuntimeException("Product not found!"))
+                        : Mono.empty()));
+    }
+
+    /**
+     * Updates an existing product in a single atomic find-and-modify, checking its version
+     * as {@link ProductService#updateProduct} does.
+     * @param product The Product entity with updated values.
+     * @return The updated Product entity, or a RuntimeException if the product is not found,
+     * or an OptimisticLockingFailureException if it was modified since the given version.
+     */
+    public Mono<Product> updateProduct(Product product) {
+        return traced("updateProduct", mongoTemplate.findAndModify(ProductQueries.matching(product),
+                        ProductQueries.replacementOf(product), FindAndModifyOptions.options().returnNew(true), Product.class)
+                .switchIfEmpty(Mono.defer(() -> {
+                    // Failure path only: tell a missing product from a stale version
+                    Mono<Boolean> exists = product.getVersion() != null
+                            ? productRepository.existsById(product.getId())
+                            : Mono.just(false);
+                    return exists.flatMap(stale -> Mono.error(stale
+                            ? new OptimisticLockingFailureException("Product was modified concurrently!")
+                            : new RuntimeException("Product not found!")));
+                })));
+    }
+
+    /**
+     * Retrieves all products, emitted as they are read from a database cursor,
+     * so the whole collection is never held in memory.
+     * @return The products.
+     */
+    public Flux<Product> getAllProducts() {
+        return traced("displayAllProducts",
+                mongoTemplate.find(new Query().cursorBatchSize(STREAM_BATCH_SIZE), Product.class));
+    }
+
+    /**
+     * Retrieves one page of products in ascending order of ID or price, see {@link ProductService#getProductsPage}.
+     * @param sortKey "id" or "price"; products with the same price are ordered by ID.
+     * @param limit The maximum number of products, capped at MAX_PAGE_SIZE.
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @return The page of products, or an IllegalArgumentException if the sort key or the token is invalid.
+     */
+    public Mono<CursorPage<Product>> getProductsPage(String sortKey, int limit, String token) {
+        return traced("displayProductsPage", Mono.defer(() -> {
+            int pageSize = ProductQueries.pageSize(limit);
+            Query query = ProductQueries.page(sortKey, pageSize, token);
+            return mongoTemplate.find(query, Product.class).collectList()
+                    .map(products -> ProductQueries.toPage(products, sortKey, pageSize));
+        }));
+    }
+
+    /**
+     * Inserts products with one bulk write per batch.
+     * @param products The products to insert, consumed as batches are written.
+     * @param ordered Whether to stop at the first failure; otherwise failed inserts are skipped.
+     * @param batchSize The number of products per batch, or 0 for the configured default.
+     * @param onBatch Receives the result of each batch as soon as it is written.
+     * @return The accumulated result of all batches.
+     */
+    public Mono<BulkResult> bulkAddProducts(Flux<Product> products, boolean ordered, int batchSize,
+                                            Consumer<BulkResult> onBatch) {
+        return bulkWrite("bulkAddProducts", products, ordered, batchSize, onBatch, (operations, batch) ->
+                operations.insert(ProductQueries.initialVersions(batch)));
+    }
+
+    /**
+     * Updates existing products, matched by ID and version, with one bulk write per batch.
+     * @param products The products with updated values.
+     * @param ordered Whether to stop at the first failure.
+     * @param batchSize The number of products per batch, or 0 for the configured default.
+     * @param onBatch Receives the result of each batch as soon as it is written.
+     * @return The accumulated result of all batches.
+     */
+    public Mono<BulkResult> bulkUpdateProducts(Flux<Product> products, boolean ordered, int batchSize,
+                                               Consumer<BulkResult> onBatch) {
+        return bulkWrite("bulkUpdateProducts", products, ordered, batchSize, onBatch, (operations, batch) ->
+                batch.forEach(product -> operations.updateOne(ProductQueries.matching(product), ProductQueries.replacementOf(product))));
+    }
+
+    /**
+     * Deletes products by ID, with one bulk write per batch.
+     * @param ids The IDs of the products to delete.
+     * @param ordered Whether to stop at the first failure.
+     * @param batchSize The number of IDs per batch, or 0 for the configured default.
+     * @param onBatch Receives the result of each batch as soon as it is written.
+     * @return The accumulated result of all batches.
+     */
+    public Mono<BulkResult> bulkDeleteProducts(Flux<String> ids, boolean ordered, int batchSize,
+                                               Consumer<BulkResult> onBatch) {
+        return bulkWrite("bulkDeleteProducts", ids, ordered, batchSize, onBatch, (operations, batch) ->
+                operations.remove(Query.query(Criteria.where("id").in(batch))));
+    }
+
+    private <T> Mono<BulkResult> bulkWrite(String spanName, Flux<T> items, boolean ordered, int batchSize,
+                                           Consumer<BulkResult> onBatch, BiConsumer<ReactiveBulkOperations, List<T>> addOperations) {
+        int size = Math.min(batchSize > 0 ? batchSize : bulkBatchSize, ProductService.MAX_BULK_BATCH_SIZE);
+        BulkOperations.BulkMode mode = ordered ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED;
+        return traced(spanName, items.buffer(size)
+                .concatMap(batch -> { // One batch in flight, the next one is read from the input meanwhile
+                    ReactiveBulkOperations operations = mongoTemplate.bulkOps(mode, Product.class);
+                    addOperations.accept(operations, batch);
+                    return executeBatch(operations, batch.size());
+                })
+                .doOnNext(onBatch)
+                .takeUntil(batchResult -> ordered && batchResult.getFailed() > 0) // Ordered writes stop at the first failure
+                .reduceWith(BulkResult::new, BulkResult::add));
+    }
+
+    private static Mono<BulkResult> executeBatch(ReactiveBulkOperations operations, int size) {
+        return operations.execute()
+                .map(writeResult -> BulkResult.ofBatch(size, writeResult, List.of()))
+                .onErrorResume(e -> bulkWriteException(e) != null, e -> {
+                    // What was written before, or besides, the failed operations
+                    MongoBulkWriteException failure = bulkWriteException(e);
+                    return Mono.just(BulkResult.ofBatch(size, failure.getWriteResult(), failure.getWriteErrors()));
+                });
+    }
+
+    // The driver's bulk write failure, which the template may have translated into another exception
+    private static MongoBulkWriteException bulkWriteException(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException failure) {
+                return failure;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the most expensive products (3 by default, see products.most-expensive.count),
+     * sorted and limited by the database.
+     * @return The most expensive Product entities, most expensive first.
+     */
+    public Flux<Product> getTopExpensiveProducts() {
+        return traced("getMostExpensiveProducts", productRepository.findAllByOrderByPriceDescIdAsc(Limit.of(topCount)));
+    }
+
+    // Wraps each subscription in a span, ended when the publisher terminates or is cancelled
+    private <T> Mono<T> traced(String spanName, Mono<T> publisher) {
+        return Mono.defer(() -> {
+            Span span = tracer.spanBuilder(spanName).startSpan();
+            return publisher.doOnError(span::recordException).doFinally(signal -> span.end());
+        });
+    }
+
+    private <T> Flux<T> traced(String spanName, Flux<T> publisher) {
+        return Flux.defer(() -> {
+            Span span = tracer.spanBuilder(spanName).startSpan();
+            return publisher.doOnError(span::recordException).doFinally(signal -> span.end());
+        });
+    }
+}
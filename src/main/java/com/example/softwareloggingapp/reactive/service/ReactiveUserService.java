@@ -0,0 +1,100 @@
+package com.example.softwareloggingapp.reactive.service;
+
+import com.example.softwareloggingapp.model.CursorPage;
+import com.example.softwareloggingapp.model.User;
+import com.example.softwareloggingapp.model.UserSummary;
+import com.example.softwareloggingapp.reactive.repository.ReactiveUserRepository;
+import com.example.softwareloggingapp.service.UserQueries;
+import com.example.softwareloggingapp.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Reactive counterpart of {@link UserService}, for the WebFlux stack.
+ * It has no credential cache: every authentication looks the user up through the unique email index.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserService {
+
+    // Documents fetched per cursor round trip when listing.
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    // Repository for accessing user data from the database.
+    private final ReactiveUserRepository userRepository;
+
+    // Template for the projected and paginated queries.
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Creates a new user by saving it to the database.
+     *
+     * @param user the User object to be created
+     * @return the created User object
+     */
+    public Mono<User> createUser(User user) {
+        return userRepository.save(user);
+    }
+
+    /**
+     * Retrieves all users, emitted as they are read from a database cursor.
+     *
+     * @return the User objects
+     */
+    public Flux<User> getAllUsers() {
+        return mongoTemplate.find(new Query().cursorBatchSize(STREAM_BATCH_SIZE), User.class);
+    }
+
+    /**
+     * Retrieves one page of users, ordered by ID, without their passwords, see {@link UserService#getUsersPage}.
+     *
+     * @param limit the maximum number of users, capped at MAX_PAGE_SIZE
+     * @param token the continuation token of the previous page, or null for the first page
+     * @return the page of users, or an IllegalArgumentException if the token is invalid
+     */
+    public Mono<CursorPage<UserSummary>> getUsersPage(int limit, String token) {
+        return Mono.defer(() -> {
+            int pageSize = UserQueries.pageSize(limit);
+            Query query = UserQueries.page(pageSize, token);
+            return mongoTemplate.query(User.class).as(UserSummary.class).matching(query).all().collectList()
+                    .map(users -> UserQueries.toPage(users, pageSize));
+        });
+    }
+
+    /**
+     * Retrieves every user, without the password, emitted as they are read from a database cursor.
+     *
+     * @return the users
+     */
+    public Flux<UserSummary> getUserSummaries() {
+        Query query = UserQueries.summaries().cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.query(User.class).as(UserSummary.class).matching(query).all();
+    }
+
+    /**
+     * Authenticates a user by checking their email and password.
+     * The stored password is looked up by email through the unique email index.
+     *
+     * @param email the email of the user attempting to authenticate
+     * @param password the password of the user
+     * @return true if the email and password match a user in the database, false otherwise
+     */
+    public Mono<Boolean> authenticate(String email, String password) {
+        if (email == null || password == null) {
+            return Mono.just(false);
+        }
+        return userRepository.findByEmail(email)
+                .map(user -> user.getPassword() != null && MessageDigest.isEqual(
+                        user.getPassword().getBytes(StandardCharsets.UTF_8), password.getBytes(StandardCharsets.UTF_8)))
+                .defaultIfEmpty(false);
+    }
+}
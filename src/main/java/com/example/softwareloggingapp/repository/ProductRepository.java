@@ -1,8 +1,11 @@
 package com.example.softwareloggingapp.repository;
 
 import com.example.softwareloggingapp.model.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.List;
+
 /**
  * Interface for managing Product entities in the MongoDB database.
  *
@@ -13,5 +16,12 @@ import org.springframework.data.mongodb.repository.MongoRepository;
  * deleting, and updating entities, reducing boilerplate code.
  */
 public interface ProductRepository extends MongoRepository<Product, String> {
-    // No additional methods are defined here; it inherits basic CRUD methods from MongoRepository.
+
+    /**
+     * Finds the most expensive products, sorted and limited by the database.
+     *
+     * @param limit the maximum number of products to return
+     * @return the products, most expensive first, ties ordered by ID
+     */
+    List<Product> findAllByOrderByPriceDescIdAsc(Limit limit);
 }
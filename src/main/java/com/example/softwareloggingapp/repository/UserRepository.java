@@ -3,6 +3,8 @@ package com.example.softwareloggingapp.repository;
 import com.example.softwareloggingapp.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Optional;
+
 /**
  * Interface for managing User entities in the MongoDB database.
  *
@@ -13,5 +15,12 @@ import org.springframework.data.mongodb.repository.MongoRepository;
  * finding, deleting, and updating entities, streamlining database management.
  */
 public interface UserRepository extends MongoRepository<User, String> {
-    // No additional methods are defined here; it inherits basic CRUD methods from MongoRepository.
+
+    /**
+     * Finds a user by email, using the unique index on the email field.
+     *
+     * @param email the email to look up
+     * @return the user, or empty if no user has this email
+     */
+    Optional<User> findByEmail(String email);
 }
@@ -0,0 +1,49 @@
+package com.example.softwareloggingapp.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through loading for the Caffeine caches of this package, with the load running on the
+ * calling thread but outside of the cache's internal locks.
+ * {@code Cache.get(key, loader)} runs the loader inside a {@code ConcurrentHashMap} bin lock,
+ * i.e. a {@code synchronized} block, so a virtual thread querying the database from it would
+ * stay pinned to its carrier thread. Here only an incomplete future is inserted under that lock;
+ * the first caller then loads the value and completes it, while concurrent callers for the same
+ * key wait for that future. A future removed by an invalidation during the load never caches
+ * its possibly stale value.
+ */
+final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    /**
+     * Returns the cached value of a key, loading it on a cache miss.
+     *
+     * @param cache  the cache
+     * @param key    the key
+     * @param loader computes the value, or null to leave the key uncached
+     * @return the value, or null if the loader returned null
+     */
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> created);
+        if (future == created) { // Cache miss, load on this thread
+            try {
+                created.complete(loader.apply(key));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e); // Failed loads are not cached
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e; // Rethrow the loader's exception
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.softwareloggingapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation tokens of keyset-paginated listings.
+ * A token holds the sort key it was issued for, followed by the sort values of the last
+ * item returned, as URL-safe Base64.
+ */
+final class ContinuationTokens {
+
+    private static final String SEPARATOR = "\n"; // Cannot occur in IDs or numbers
+
+    private ContinuationTokens() {
+    }
+
+    /**
+     * Creates a token.
+     *
+     * @param sortKey the sort key of the listing
+     * @param values  the sort values of the last item returned
+     * @return the token
+     */
+    static String encode(String sortKey, String... values) {
+        String position = sortKey + SEPARATOR + String.join(SEPARATOR, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the sort values from a token.
+     *
+     * @param token      the token received from the client
+     * @param sortKey    the sort key of the requested listing
+     * @param valueCount the number of sort values expected for that key
+     * @return the sort values
+     * @throws IllegalArgumentException if the token is malformed or was issued for another sort key
+     */
+    static String[] decode(String token, String sortKey, int valueCount) {
+        String[] fields;
+        try {
+            fields = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token!", e);
+        }
+        if (fields.length != valueCount + 1 || !fields[0].equals(sortKey)) {
+            throw new IllegalArgumentException("Invalid continuation token!");
+        }
+        String[] values = new String[valueCount];
+        System.arraycopy(fields, 1, values, 0, valueCount);
+        return values;
+    }
+}
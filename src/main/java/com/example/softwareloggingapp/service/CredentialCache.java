@@ -0,0 +1,120 @@
+package com.example.softwareloggingapp.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the credentials checked by {@link UserService#authenticate}.
+ * Only a SHA-256 digest of each stored password is kept, never the password itself.
+ * Unknown emails are cached too, so repeated attempts with them do not reach the database, but
+ * for a shorter time than known ones. Entries must be invalidated whenever the corresponding user
+ * changes; the expiry only bounds how long a change made outside of this application goes unseen.
+ * Misses are loaded by the requesting thread, outside the cache's locks, see {@link CacheLoads}.
+ */
+@Component
+public class CredentialCache {
+
+    private final AsyncCache<String, Optional<byte[]>> digestsByEmail; // Empty when no user has the email
+
+    /**
+     * Creates the cache.
+     *
+     * @param maxSize            the maximum number of cached emails, least recently used ones are evicted first
+     * @param ttlSeconds         the time after which the password of a known email is read again from the database
+     * @param negativeTtlSeconds the time after which an unknown email is looked up again in the database
+     */
+    @Autowired
+    public CredentialCache(@Value("${users.credential-cache.max-size:10000}") long maxSize,
+                           @Value("${users.credential-cache.ttl-seconds:300}") long ttlSeconds,
+                           @Value("${users.credential-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this(maxSize, Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(negativeTtlSeconds), Ticker.systemTicker());
+    }
+
+    CredentialCache(long maxSize, Duration ttl, Duration negativeTtl, Ticker ticker) {
+        this.digestsByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new WriteExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .ticker(ticker)
+                .buildAsync();
+    }
+
+    /**
+     * Checks a password against the stored one, loading the stored password on a cache miss.
+     *
+     * @param email    the email of the user
+     * @param password the password to check
+     * @param loader   returns the stored password for an email, or empty if no user has it
+     * @return true if a user has this email and password
+     */
+    public boolean verify(String email, String password, Function<String, Optional<String>> loader) {
+        Optional<byte[]> stored = CacheLoads.get(digestsByEmail, email, key -> loader.apply(key).map(CredentialCache::digest));
+        return stored.isPresent() && MessageDigest.isEqual(stored.get(), digest(password));
+    }
+
+    /**
+     * Drops the cached credentials of one email.
+     *
+     * @param email the email whose user was created or changed
+     */
+    public void invalidate(String email) {
+        if (email != null) {
+            digestsByEmail.synchronous().invalidate(email);
+        }
+    }
+
+    /**
+     * Drops every cached credential, e.g. when a change may have affected an unknown email.
+     */
+    public void invalidateAll() {
+        digestsByEmail.synchronous().invalidateAll();
+    }
+
+    /**
+     * Expires entries a fixed time after they were written, with a distinct time for unknown emails.
+     */
+    private static final class WriteExpiry implements Expiry<String, Optional<byte[]>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        WriteExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String email, Optional<byte[]> digest, long currentTime) {
+            return digest.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String email, Optional<byte[]> digest, long currentTime, long currentDuration) {
+            return expireAfterCreate(email, digest, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String email, Optional<byte[]> digest, long currentTime, long currentDuration) {
+            return currentDuration; // Reads do not extend the lifetime
+        }
+    }
+
+    private static byte[] digest(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Required on every Java platform
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.softwareloggingapp.service;
+
+import com.example.softwareloggingapp.model.Product;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of products by ID, in front of the database.
+ * Caffeine's W-TinyLFU eviction keeps the frequently read products, and entries expire after
+ * a fixed time as a safety net. Written and deleted products are evicted rather than replaced,
+ * since concurrent writers may reach the cache in another order than the database; the next read
+ * loads the stored copy. Misses are loaded by the requesting thread, outside the cache's locks,
+ * and a load overlapping an eviction is not cached, see {@link CacheLoads}.
+ * Hit, miss and eviction counts are published as the "cache.*" metrics with the tag cache=products.
+ */
+@Component
+public class ProductCache {
+
+    private final AsyncCache<String, Product> productsById;
+
+    /**
+     * Creates the cache and registers its metrics.
+     *
+     * @param maxSize       the maximum number of cached products
+     * @param ttlSeconds    the time after which a cached product is read again from the database
+     * @param meterRegistry the registry receiving the cache metrics
+     */
+    public ProductCache(@Value("${products.cache.max-size:10000}") long maxSize,
+                        @Value("${products.cache.ttl-seconds:600}") long ttlSeconds,
+                        MeterRegistry meterRegistry) {
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, productsById, "products");
+    }
+
+    /**
+     * Returns a product, loading it on a cache miss. Missing products are not cached.
+     *
+     * @param id     the ID of the product
+     * @param loader reads the product from the database
+     * @return the product, or empty if it does not exist
+     */
+    public Optional<Product> get(String id, Function<String, Optional<Product>> loader) {
+        return Optional.ofNullable(CacheLoads.get(productsById, id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Evicts a product after it was written or deleted.
+     *
+     * @param id the ID of the changed product
+     */
+    public void invalidate(String id) {
+        productsById.synchronous().invalidate(id);
+    }
+
+    /**
+     * Evicts every product, after changes too numerous to apply one by one.
+     */
+    public void invalidateAll() {
+        productsById.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.softwareloggingapp.service;
+
+import com.example.softwareloggingapp.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+/**
+ * In-memory index of the most expensive products, kept current as products are saved and deleted.
+ * The index always holds the exact top entries of the collection, ordered by descending price
+ * (ties broken by ID). It keeps twice as many entries as are served, so that a few deletions
+ * can be absorbed before the database has to be queried again.
+ * The monitor only guards in-memory updates; the database query runs outside of it, so virtual
+ * threads are never pinned while waiting for it. For the same reason writers notify the index
+ * after their write, and concurrent notifications may arrive in another order than the writes:
+ * a save is only applied when no other change was notified since the writer read the
+ * {@link #generation()}, otherwise the index is reloaded.
+ */
+@Component
+public class ProductPriceIndex {
+
+    // Most expensive first, the ID keeps products with the same price distinct
+    static final Comparator<Product> BY_PRICE_DESCENDING = Comparator.comparingDouble(Product::getPrice).reversed()
+            .thenComparing(Product::getId);
+
+    private final int topCount; // Number of products served
+    private final int capacity; // Number of products indexed
+    private final TreeSet<Product> top = new TreeSet<>(BY_PRICE_DESCENDING);
+    private final Map<String, Product> indexedById = new HashMap<>(); // Entries of "top", to find them by ID
+    private boolean truncated = true; // Whether the collection may hold products missing from the index
+    private long generation; // Incremented on every change, to detect changes during a reload
+
+    /**
+     * Creates the index.
+     *
+     * @param topCount the number of most expensive products to serve
+     */
+    public ProductPriceIndex(@Value("${products.most-expensive.count:3}") int topCount) {
+        this.topCount = topCount;
+        this.capacity = topCount * 2;
+    }
+
+    /**
+     * Returns the most expensive products, querying the database only when the index cannot
+     * answer on its own, i.e. at startup and after deletions emptied it below the served count.
+     *
+     * @param loader returns the given number of most expensive products from the database
+     * @return the most expensive products, most expensive first
+     */
+    public List<Product> getTopProducts(IntFunction<List<Product>> loader) {
+        long expectedGeneration;
+        synchronized (this) {
+            if (top.size() >= topCount || !truncated) {
+                return first(top, topCount);
+            }
+            expectedGeneration = generation;
+        }
+
+        List<Product> loaded = loader.apply(capacity); // Outside the lock, the query may be slow
+        synchronized (this) {
+            if (generation == expectedGeneration) { // Otherwise the result may already be stale, reload next time
+                top.clear();
+                indexedById.clear();
+                loaded.forEach(this::add);
+                truncated = loaded.size() >= capacity;
+            }
+        }
+        return first(loaded, topCount);
+    }
+
+    /**
+     * Returns the number of changes notified so far, to be read before writing a product.
+     *
+     * @return the current generation
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Updates the index after a product was inserted or updated.
+     *
+     * @param product            the saved product
+     * @param expectedGeneration the {@link #generation()} read before the product was written
+     */
+    public synchronized void onSaved(Product product, long expectedGeneration) {
+        if (generation != expectedGeneration) { // Another change was notified meanwhile, it may be newer than this one
+            invalidate();
+            return;
+        }
+        generation++;
+        remove(product.getId());
+        if (!truncated || (!top.isEmpty() && BY_PRICE_DESCENDING.compare(product, top.last()) < 0)) {
+            add(product); // Only products ranked above the last entry are known to belong to the top
+            if (top.size() > capacity) {
+                indexedById.remove(top.pollLast().getId());
+                truncated = true;
+            }
+        }
+    }
+
+    /**
+     * Updates the index after a product was deleted.
+     *
+     * @param id the ID of the deleted product
+     */
+    public synchronized void onDeleted(String id) {
+        generation++;
+        remove(id);
+    }
+
+    /**
+     * Empties the index after changes too numerous to apply one by one, such as bulk writes.
+     * The next read reloads it from the database.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        top.clear();
+        indexedById.clear();
+        truncated = true;
+    }
+
+    private void add(Product product) {
+        top.add(product);
+        indexedById.put(product.getId(), product);
+    }
+
+    private void remove(String id) {
+        Product indexed = indexedById.remove(id);
+        if (indexed != null) {
+            top.remove(indexed);
+        }
+    }
+
+    private static List<Product> first(Iterable<Product> products, int count) {
+        List<Product> result = new ArrayList<>(count);
+        for (Product product : products) {
+            if (result.size() == count) {
+                break;
+            }
+            result.add(product);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.softwareloggingapp.service;
+
+import com.example.softwareloggingapp.model.CursorPage;
+import com.example.softwareloggingapp.model.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Product queries shared by the blocking {@link ProductService} and its reactive counterpart,
+ * so both stacks select, update and paginate products the same way.
+ */
+public final class ProductQueries {
+
+    private ProductQueries() {
+    }
+
+    /**
+     * Selects the stored product with the same ID, and the same version if the product has one.
+     *
+     * @param product the product carrying the ID and optional version
+     * @return the query
+     */
+    public static Query matching(Product product) {
+        Query query = Query.query(Criteria.where("id").is(product.getId()));
+        if (product.getVersion() != null) {
+            query.addCriteria(Criteria.where("version").is(product.getVersion()));
+        }
+        return query;
+    }
+
+    /**
+     * Overwrites every field of the stored product and increments its version.
+     *
+     * @param product the product carrying the new values
+     * @return the update
+     */
+    public static Update replacementOf(Product product) {
+        return new Update()
+                .set("name", product.getName())
+                .set("price", product.getPrice())
+                .set("expirationDate", product.getExpirationDate())
+                .inc("version", 1);
+    }
+
+    /**
+     * Sets the version of products about to be inserted in bulk to 0. Bulk inserts write documents
+     * as they are, unlike save, so they would otherwise be stored without a version.
+     *
+     * @param products the new products
+     * @return the same products
+     */
+    public static List<Product> initialVersions(List<Product> products) {
+        products.forEach(product -> product.setVersion(0L));
+        return products;
+    }
+
+    /**
+     * Caps a requested page size to the range 1 to {@link ProductService#MAX_PAGE_SIZE}.
+     *
+     * @param limit the requested number of products
+     * @return the page size
+     */
+    public static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, ProductService.MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Selects the products of one page, in ascending order of ID or price, starting right after
+     * the position encoded in the token. One product more than the page size is fetched, to know
+     * whether there is a next page.
+     *
+     * @param sortKey  "id" or "price"; products with the same price are ordered by ID
+     * @param pageSize the page size, see {@link #pageSize}
+     * @param token    the continuation token of the previous page, or null for the first page
+     * @return the query
+     * @throws IllegalArgumentException if the sort key or the token is invalid
+     */
+    public static Query page(String sortKey, int pageSize, String token) {
+        boolean byPrice = isByPrice(sortKey);
+        Query query = new Query()
+                .with(byPrice ? Sort.by("price", "id") : Sort.by("id"))
+                .limit(pageSize + 1);
+        if (token != null) {
+            String[] position = ContinuationTokens.decode(token, sortKey, byPrice ? 2 : 1);
+            query.addCriteria(byPrice ? afterPrice(position[0], position[1]) : Criteria.where("id").gt(position[0]));
+        }
+        return query;
+    }
+
+    /**
+     * Builds a page from the products selected by {@link #page}.
+     *
+     * @param products the products returned by the query
+     * @param sortKey  the sort key of the query
+     * @param pageSize the page size of the query
+     * @return the page, with the token of the next page if there is one
+     */
+    public static CursorPage<Product> toPage(List<Product> products, String sortKey, int pageSize) {
+        if (products.size() <= pageSize) {
+            return new CursorPage<>(products, null);
+        }
+        products = new ArrayList<>(products.subList(0, pageSize));
+        Product last = products.get(pageSize - 1);
+        String nextToken = isByPrice(sortKey)
+                ? ContinuationTokens.encode(sortKey, Double.toString(last.getPrice()), last.getId())
+                : ContinuationTokens.encode(sortKey, last.getId());
+        return new CursorPage<>(products, nextToken);
+    }
+
+    private static boolean isByPrice(String sortKey) {
+        return switch (sortKey) {
+            case "id" -> false;
+            case "price" -> true;
+            default -> throw new IllegalArgumentException("Unknown sort key: " + sortKey);
+        };
+    }
+
+    // Products after (price, id) in (price, id) order
+    private static Criteria afterPrice(String price, String id) {
+        double lastPrice;
+        try {
+            lastPrice = Double.parseDouble(price);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid continuation token!", e);
+        }
+        return new Criteria().orOperator(
+                Criteria.where("price").gt(lastPrice),
+                Criteria.where("price").is(lastPrice).and("id").gt(id));
+    }
+}
@@ -1,14 +1,30 @@
 package com.example.softwareloggingapp.service;
 
+import com.example.softwareloggingapp.model.BulkResult;
+import com.example.softwareloggingapp.model.CursorPage;
 import com.example.softwareloggingapp.model.Product;
 import com.example.softwareloggingapp.repository.ProductRepository;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing Product entities.
@@ -18,20 +34,44 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class ProductService {
+    // Largest page returned by getProductsPage
+    public static final int MAX_PAGE_SIZE = 1000;
+    // Documents fetched per cursor round trip when streaming
+    private static final int STREAM_BATCH_SIZE = 500;
+    // Largest batch sent in one bulk write
+    public static final int MAX_BULK_BATCH_SIZE = 10_000;
+
     // Repository for managing Product entities
     private final ProductRepository productRepository;
+    // Template for the keyset and streaming queries
+    private final MongoTemplate mongoTemplate;
+    // Maintained index of the most expensive products
+    private final ProductPriceIndex priceIndex;
+    // Read-through cache of products by ID
+    private final ProductCache productCache;
     // OpenTelemetry Tracer for distributed tracing
     private final Tracer tracer;
+    // Default number of products per bulk write
+    @Value("${products.bulk.batch-size:1000}")
+    private int bulkBatchSize;
 
     /**
-     * Adds a new product to the repository.
+     * Adds a new product to the repository. This only creates products: any version sent by the client
+     * is cleared, so the product is inserted and an ID that is already taken is rejected instead of
+     * overwriting the stored product.
      * @param product The Product entity to add.
-     * @return The saved Product entity.
+     * @return The saved Product entity, with version 0.
+     * @throws DuplicateKeyException if a product with the same ID already exists.
      */
     public Product addProduct(Product product) {
         Span span = tracer.spanBuilder("addProduct").startSpan();
         try {
-            return productRepository.save(product);
+            long generation = priceIndex.generation(); // Read before the write, see ProductPriceIndex
+            product.setVersion(null); // With a version, save would update the stored product instead of inserting
+            Product savedProduct = productRepository.save(product);
+            priceIndex.onSaved(savedProduct, generation); // Keep the most expensive products current
+            productCache.invalidate(savedProduct.getId());
+            return savedProduct;
         } catch (Exception e) {
             span.recordException(e); // Record any exception in the trace
             throw e;
@@ -41,7 +81,7 @@ public class ProductService {
     }
 
     /**
-     * Retrieves a product by its ID.
+     * Retrieves a product by its ID, from the product cache when it holds it.
      * @param id The ID of the Product to retrieve.
      * @return The Product entity.
      * @throws RuntimeException if the product is not found.
@@ -49,7 +89,7 @@ public class ProductService {
     public Product getProductById(String id) {
         Span span = tracer.spanBuilder("fetchProductById").startSpan();
         try {
-            return productRepository.findById(id)
+            return productCache.get(id, productRepository::findById)
                     .orElseThrow(() -> new RuntimeException("Product not found!"));
         } catch (Exception e) {
             span.recordException(e); // Record any exception in the trace
@@ -67,10 +107,12 @@ public class ProductService {
     public void deleteProduct(String id) {
         Span span = tracer.spanBuilder("deleteProduct").startSpan();
         try {
-            if (!productRepository.existsById(id)) {
+            // One round trip, the deleted count tells whether the product existed
+            if (mongoTemplate.remove(Query.query(Criteria.where("id").is(id)), Product.class).getDeletedCount() == 0) {
                 throw new RuntimeException("Product not found!");
             }
-            productRepository.deleteById(id);
+            priceIndex.onDeleted(id);
+            productCache.invalidate(id);
         } catch (Exception e) {
             span.recordException(e); // Record any exception in the trace
             throw e;
@@ -80,18 +122,31 @@ public class ProductService {
     }
 
     /**
-     * Updates an existing product in the repository.
+     * Updates an existing product in the repository, in a single atomic find-and-modify.
+     * If the product carries a version, the update only applies when it matches the stored one,
+     * so concurrent updaters cannot silently overwrite each other. The version is incremented on
+     * every update.
      * @param product The Product entity with updated values.
-     * @return The updated Product entity.
+     * @return The updated Product entity, with its new version.
      * @throws RuntimeException if the product is not found.
+     * @throws OptimisticLockingFailureException if the product was modified since the given version.
      */
     public Product updateProduct(Product product) {
         Span span = tracer.spanBuilder("fetchProductById").startSpan();
         try {
-            if (!productRepository.existsById(product.getId())) {
+            long generation = priceIndex.generation();
+            Product savedProduct = mongoTemplate.findAndModify(ProductQueries.matching(product), ProductQueries.replacementOf(product),
+                    FindAndModifyOptions.options().returnNew(true), Product.class);
+            if (savedProduct == null) {
+                // Failure path only: tell a missing product from a stale version
+                if (product.getVersion() != null && productRepository.existsById(product.getId())) {
+                    throw new OptimisticLockingFailureException("Product was modified concurrently!");
+                }
                 throw new RuntimeException("Product not found!");
             }
-            return productRepository.save(product);
+            priceIndex.onSaved(savedProduct, generation);
+            productCache.invalidate(savedProduct.getId());
+            return savedProduct;
         } catch (Exception e) {
             span.recordException(e); // Record any exception in the trace
             throw e;
@@ -117,28 +172,145 @@ public class ProductService {
     }
 
     /**
-     * Retrieves the top 3 most expensive products from the repository.
-     * @return A list of the top 3 most expensive Product entities.
+     * Retrieves one page of products in ascending order of ID or price.
+     * Each page starts right after the position encoded in the token, using the index on the
+     * sort key, so memory and query cost depend on the page size only.
+     * @param sortKey "id" or "price"; products with the same price are ordered by ID.
+     * @param limit The maximum number of products, capped at MAX_PAGE_SIZE.
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @return The page of products, with the token of the next page if there is one.
+     * @throws IllegalArgumentException if the sort key or the token is invalid.
      */
-    public List<Product> getTopExpensiveProducts() {
-        Span span = tracer.spanBuilder("getMostExpensiveProducts").startSpan();
+    public CursorPage<Product> getProductsPage(String sortKey, int limit, String token) {
+        Span span = tracer.spanBuilder("displayProductsPage").startSpan();
+        try {
+            int pageSize = ProductQueries.pageSize(limit);
+            Query query = ProductQueries.page(sortKey, pageSize, token);
+            return ProductQueries.toPage(mongoTemplate.find(query, Product.class), sortKey, pageSize);
+        } catch (Exception e) {
+            span.recordException(e); // Record any exception in the trace
+            throw e;
+        } finally {
+            span.end(); // End the trace
+        }
+    }
+
+    /**
+     * Passes every product to the consumer as it is read from a database cursor,
+     * so the whole collection is never held in memory.
+     * @param consumer Receives the products, one at a time.
+     */
+    public void streamAllProducts(Consumer<Product> consumer) {
+        Span span = tracer.spanBuilder("streamAllProducts").startSpan();
+        try (Stream<Product> products = mongoTemplate.stream(new Query().cursorBatchSize(STREAM_BATCH_SIZE), Product.class)) {
+            products.forEach(consumer);
+        } catch (Exception e) {
+            span.recordException(e); // Record any exception in the trace
+            throw e;
+        } finally {
+            span.end(); // End the trace
+        }
+    }
+
+    /**
+     * Inserts products with one bulk write per batch.
+     * @param products The products to insert, read lazily so the input is never held in memory at once.
+     * @param ordered Whether to stop at the first failure; otherwise failed inserts are skipped.
+     * @param batchSize The number of products per batch, or 0 for the configured default.
+     * @param onBatch Receives the result of each batch as soon as it is written.
+     * @return The accumulated result of all batches.
+     */
+    public BulkResult bulkAddProducts(Iterator<Product> products, boolean ordered, int batchSize,
+                                      Consumer<BulkResult> onBatch) {
+        return bulkWrite("bulkAddProducts", products, ordered, batchSize, onBatch, (operations, batch) ->
+                operations.insert(ProductQueries.initialVersions(batch)));
+    }
+
+    /**
+     * Updates existing products, matched by ID and version as in updateProduct, with one bulk write per batch.
+     * Products whose ID does not exist, or whose version is stale, are counted as received but not matched.
+     * @param products The products with updated values.
+     * @param ordered Whether to stop at the first failure.
+     * @param batchSize The number of products per batch, or 0 for the configured default.
+     * @param onBatch Receives the result of each batch as soon as it is written.
+     * @return The accumulated result of all batches.
+     */
+    public BulkResult bulkUpdateProducts(Iterator<Product> products, boolean ordered, int batchSize,
+                                         Consumer<BulkResult> onBatch) {
+        return bulkWrite("bulkUpdateProducts", products, ordered, batchSize, onBatch, (operations, batch) ->
+                batch.forEach(product -> operations.updateOne(ProductQueries.matching(product), ProductQueries.replacementOf(product))));
+    }
+
+    /**
+     * Deletes products by ID, with one bulk write per batch.
+     * @param ids The IDs of the products to delete.
+     * @param ordered Whether to stop at the first failure.
+     * @param batchSize The number of IDs per batch, or 0 for the configured default.
+     * @param onBatch Receives the result of each batch as soon as it is written.
+     * @return The accumulated result of all batches.
+     */
+    public BulkResult bulkDeleteProducts(Iterator<String> ids, boolean ordered, int batchSize,
+                                         Consumer<BulkResult> onBatch) {
+        return bulkWrite("bulkDeleteProducts", ids, ordered, batchSize, onBatch, (operations, batch) ->
+                operations.remove(Query.query(Criteria.where("id").in(batch))));
+    }
+
+    private <T> BulkResult bulkWrite(String spanName, Iterator<T> items, boolean ordered, int batchSize,
+                                     Consumer<BulkResult> onBatch, BiConsumer<BulkOperations, List<T>> addOperations) {
+        Span span = tracer.spanBuilder(spanName).startSpan();
+        int size = Math.min(batchSize > 0 ? batchSize : bulkBatchSize, MAX_BULK_BATCH_SIZE);
+        BulkOperations.BulkMode mode = ordered ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED;
+        BulkResult total = new BulkResult();
+        List<T> batch = new ArrayList<>(size);
+        boolean writeAttempted = false; // Even a batch that throws may have written some of its operations
         try {
-            // Retrieve all products
-            List<Product> allProducts = productRepository.findAll();
-
-            // Sort and filter the top 3 most expensive products
-            List<Product> topExpensiveProducts = new ArrayList<>();
-            for (Product product : allProducts) {
-                if (topExpensiveProducts.size() < 3) {
-                    topExpensiveProducts.add(product);
-                    topExpensiveProducts.sort((p1, p2) -> Double.compare(p2.getPrice(), p1.getPrice()));
-                } else if (product.getPrice() > topExpensiveProducts.get(2).getPrice()) {
-                    topExpensiveProducts.set(2, product);
-                    topExpensiveProducts.sort((p1, p2) -> Double.compare(p2.getPrice(), p1.getPrice()));
+            while (items.hasNext()) {
+                batch.add(items.next());
+                if (batch.size() == size || !items.hasNext()) {
+                    BulkOperations operations = mongoTemplate.bulkOps(mode, Product.class);
+                    addOperations.accept(operations, batch);
+                    writeAttempted = true;
+                    BulkResult batchResult = executeBatch(operations, batch.size());
+                    total.add(batchResult);
+                    onBatch.accept(batchResult);
+                    batch.clear();
+                    if (ordered && batchResult.getFailed() > 0) {
+                        break; // Ordered writes stop at the first failure
+                    }
                 }
             }
+            return total;
+        } catch (Exception e) {
+            span.recordException(e); // Record any exception in the trace
+            throw e;
+        } finally {
+            if (writeAttempted) {
+                priceIndex.invalidate(); // Too many changes to apply one by one, reload on the next read
+                productCache.invalidateAll();
+            }
+            span.end(); // End the trace
+        }
+    }
 
-            return topExpensiveProducts;
+    private static BulkResult executeBatch(BulkOperations operations, int size) {
+        try {
+            return BulkResult.ofBatch(size, operations.execute(), List.of());
+        } catch (BulkOperationException e) {
+            // What was written before, or besides, the failed operations
+            return BulkResult.ofBatch(size, e.getResult(), e.getErrors());
+        }
+    }
+
+    /**
+     * Retrieves the most expensive products (3 by default, see products.most-expensive.count).
+     * They are served from the in-memory price index; the database is only queried, sorted and
+     * limited, when the index is cold or was depleted by deletions.
+     * @return A list of the most expensive Product entities, most expensive first.
+     */
+    public List<Product> getTopExpensiveProducts() {
+        Span span = tracer.spanBuilder("getMostExpensiveProducts").startSpan();
+        try {
+            return priceIndex.getTopProducts(count -> productRepository.findAllByOrderByPriceDescIdAsc(Limit.of(count)));
         } catch (Exception e) {
             span.recordException(e); // Record any exception in the trace
             throw e;
@@ -0,0 +1,74 @@
+package com.example.softwareloggingapp.service;
+
+import com.example.softwareloggingapp.model.CursorPage;
+import com.example.softwareloggingapp.model.UserSummary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * User queries shared by the blocking {@link UserService} and its reactive counterpart.
+ */
+public final class UserQueries {
+
+    private UserQueries() {
+    }
+
+    /**
+     * Fetches only the fields of UserSummary, never the password.
+     *
+     * @return a new query, to be refined by the caller
+     */
+    public static Query summaries() {
+        Query query = new Query();
+        query.fields().include("id", "name", "age", "email");
+        return query;
+    }
+
+    /**
+     * Caps a requested page size to the range 1 to {@link UserService#MAX_PAGE_SIZE}.
+     *
+     * @param limit the requested number of users
+     * @return the page size
+     */
+    public static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, UserService.MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Selects the user summaries of one page, ordered by ID, starting right after the ID encoded
+     * in the token. One user more than the page size is fetched, to know whether there is a next page.
+     *
+     * @param pageSize the page size, see {@link #pageSize}
+     * @param token    the continuation token of the previous page, or null for the first page
+     * @return the query
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    public static Query page(int pageSize, String token) {
+        Query query = summaries()
+                .with(Sort.by("id"))
+                .limit(pageSize + 1);
+        if (token != null) {
+            query.addCriteria(Criteria.where("id").gt(ContinuationTokens.decode(token, "id", 1)[0]));
+        }
+        return query;
+    }
+
+    /**
+     * Builds a page from the users selected by {@link #page}.
+     *
+     * @param users    the users returned by the query
+     * @param pageSize the page size of the query
+     * @return the page, with the token of the next page if there is one
+     */
+    public static CursorPage<UserSummary> toPage(List<UserSummary> users, int pageSize) {
+        if (users.size() <= pageSize) {
+            return new CursorPage<>(users, null);
+        }
+        users = new ArrayList<>(users.subList(0, pageSize));
+        return new CursorPage<>(users, ContinuationTokens.encode("id", users.get(pageSize - 1).getId()));
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.softwareloggingapp.service;
 
+import com.example.softwareloggingapp.model.CursorPage;
 import com.example.softwareloggingapp.model.User;
+import com.example.softwareloggingapp.model.UserSummary;
 import com.example.softwareloggingapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for handling business logic related to users.
@@ -15,9 +21,21 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserService {
 
+    // Largest page returned by getUsersPage.
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // Documents fetched per cursor round trip when streaming.
+    private static final int STREAM_BATCH_SIZE = 500;
+
     // Repository for accessing user data from the database.
     private final UserRepository userRepository;
 
+    // Template for the projected, paginated and streaming queries.
+    private final MongoTemplate mongoTemplate;
+
+    // Cache of verified credentials, invalidated when users change.
+    private final CredentialCache credentialCache;
+
     /**
      * Creates a new user by saving it to the database.
      *
@@ -25,7 +43,14 @@ public class UserService {
      * @return the created User object
      */
     public User createUser(User user) {
-        return userRepository.save(user);
+        boolean replacesExistingUser = user.getId() != null;
+        User createdUser = userRepository.save(user);
+        if (replacesExistingUser) {
+            credentialCache.invalidateAll(); // The previous email of the replaced user is unknown here
+        } else {
+            credentialCache.invalidate(createdUser.getEmail());
+        }
+        return createdUser;
     }
 
     /**
@@ -37,16 +62,49 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of users, ordered by ID, without their passwords.
+     * Only the fields of UserSummary are fetched from the database, and each page starts
+     * right after the ID encoded in the token.
+     *
+     * @param limit the maximum number of users, capped at MAX_PAGE_SIZE
+     * @param token the continuation token of the previous page, or null for the first page
+     * @return the page of users, with the token of the next page if there is one
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    public CursorPage<UserSummary> getUsersPage(int limit, String token) {
+        int pageSize = UserQueries.pageSize(limit);
+        Query query = UserQueries.page(pageSize, token);
+        return UserQueries.toPage(mongoTemplate.query(User.class).as(UserSummary.class).matching(query).all(), pageSize);
+    }
+
+    /**
+     * Passes every user, without the password, to the consumer as it is read from a database cursor.
+     *
+     * @param consumer receives the users, one at a time
+     */
+    public void streamUserSummaries(Consumer<UserSummary> consumer) {
+        Query query = UserQueries.summaries().cursorBatchSize(STREAM_BATCH_SIZE);
+        try (Stream<UserSummary> users = mongoTemplate.query(User.class).as(UserSummary.class).matching(query).stream()) {
+            users.forEach(consumer);
+        }
+    }
+
     /**
      * Authenticates a user by checking their email and password.
+     * The stored password is looked up by email through the unique email index, and the result
+     * is cached so that repeated attempts do not reach the database.
      *
      * @param email the email of the user attempting to authenticate
      * @param password the password of the user
      * @return true if the email and password match a user in the database, false otherwise
      */
     public boolean authenticate(String email, String password) {
-        return userRepository.findAll().stream()
-                .anyMatch(user -> user.getEmail().equals(email) && user.getPassword().equals(password));
+        if (email == null || password == null) {
+            return false;
+        }
+        return credentialCache.verify(email, password,
+                key -> userRepository.findByEmail(key).map(User::getPassword));
     }
 
 }
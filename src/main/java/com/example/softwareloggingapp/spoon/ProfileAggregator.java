@@ -0,0 +1,185 @@
+package com.example.softwareloggingapp.spoon;
+
+import com.example.softwareloggingapp.lps.ActivityRing;
+import com.example.softwareloggingapp.lps.ActivityRollup;
+import com.example.softwareloggingapp.lps.IntObjectMap;
+import com.example.softwareloggingapp.lps.LogRecord;
+import com.example.softwareloggingapp.lps.SymbolTable;
+import com.example.softwareloggingapp.lps.Timestamps;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProfileAggregator keeps the per-user profiles of each operation type (READ, WRITE,
+ * MOST_EXPENSIVE_SEARCH and any registered type) in memory.
+ * Each log event is folded in once when it is ingested, so building the output profiles
+ * never requires re-reading the log history.
+ * Only the most recent entries of each user are kept; older ones are folded into
+ * per-minute, per-hour and per-day counters, so memory stays bounded on long-running instances.
+ * Users are keyed by their email ID, and the logger, thread and level of each retained entry are
+ * kept as {@link SymbolTable} IDs, so an entry holds no String besides its message. Timestamps are
+ * parsed once, when the event is recorded, and only formatted again when the profiles are written.
+ *
+ * The aggregator is not thread-safe: {@link ProfileGenerator} only uses it under its own lock,
+ * which also covers the log position the profiles correspond to.
+ */
+public class ProfileAggregator {
+
+    // operation type -> user email ID -> entries and counters recorded for that user
+    private final Map<String, IntObjectMap<UserActivity>> profilesByOperation = new HashMap<>();
+    private final SymbolTable emails; // Resolves the email IDs
+    private final SymbolTable names = new SymbolTable(); // Logger, thread and level names of the entries
+    private final int maxActivities; // Entries retained per user and operation type
+
+    /**
+     * Creates an aggregator.
+     *
+     * @param maxActivities the number of log entries retained per user and operation type
+     * @param emails        the table assigning the email IDs passed to this aggregator
+     */
+    public ProfileAggregator(int maxActivities, SymbolTable emails) {
+        this.maxActivities = maxActivities;
+        this.emails = emails;
+    }
+
+    /**
+     * Records a single log entry for the given user and operation type.
+     *
+     * @param operationType the operation type, e.g. READ, WRITE or MOST_EXPENSIVE_SEARCH
+     * @param emailId       the ID of the email of the user who performed the operation
+     * @param record        the log event to attach to the user's profile, only its values are kept
+     * @return false if the event's timestamp is missing or malformed, the event is then skipped
+     */
+    public boolean record(String operationType, int emailId, LogRecord record) {
+        long timestamp = Timestamps.toEpochMillis(record.getTimestamp());
+        if (timestamp == Timestamps.INVALID) {
+            return false;
+        }
+        userActivity(operationType, emailId).add(new Entry(timestamp, record.getMessage(),
+                names.intern(record.getLoggerName()), names.intern(record.getThreadName()), names.intern(record.getLevel())));
+        return true;
+    }
+
+    /**
+     * Restores the counters of entries that a previous run had already folded into rollups.
+     *
+     * @param operationType  the operation type
+     * @param emailId        the ID of the email of the user
+     * @param operationCount the user's total operation count, retained entries included
+     * @param rollups        the saved counters, keyed by granularity, then by bucket start in epoch millis
+     */
+    public void restore(String operationType, int emailId, int operationCount, Map<String, Map<Long, Integer>> rollups) {
+        UserActivity activity = userActivity(operationType, emailId);
+        rollups.forEach((granularity, buckets) ->
+                buckets.forEach((bucket, count) -> activity.rollup.restore(granularity, bucket, count)));
+        activity.operationCount = Math.max(activity.operationCount, operationCount);
+    }
+
+    private UserActivity userActivity(String operationType, int emailId) {
+        return profilesByOperation.computeIfAbsent(operationType, key -> new IntObjectMap<>())
+                .computeIfAbsent(emailId, key -> new UserActivity(key, maxActivities));
+    }
+
+    /**
+     * Builds the output document for one operation type, with users sorted by operation count.
+     *
+     * @param operationType the operation type to format
+     * @return a map holding the operation type and the formatted user profiles
+     */
+    public Map<String, Object> format(String operationType) {
+        List<Map<String, Object>> formattedProfiles = new ArrayList<>();
+        List<UserActivity> activities = new ArrayList<>();
+        IntObjectMap<UserActivity> profiles = profilesByOperation.get(operationType);
+        if (profiles != null) {
+            profiles.forEach((emailId, activity) -> activities.add(activity));
+        }
+
+        activities.stream()
+                .sorted(Comparator.comparingInt((UserActivity activity) -> activity.operationCount).reversed()
+                        .thenComparingInt(activity -> activity.emailId)) // Sort by operation count, then first appearance
+                .forEach(activity -> {
+                    String email = emails.nameOf(activity.emailId);
+                    List<Map<String, Object>> operations = new ArrayList<>(activity.entries.size());
+                    for (Entry entry : activity.entries.toList()) {
+                        operations.add(format(email, entry)); // Copies, the snapshot is written asynchronously
+                    }
+                    Map<String, Object> userProfile = new LinkedHashMap<>(); // Use LinkedHashMap for field order
+                    userProfile.put("user", email);
+                    userProfile.put("operationCount", activity.operationCount);
+                    userProfile.put("operations", operations);
+                    userProfile.put("rollups", activity.rollup.toDocument());
+                    formattedProfiles.add(userProfile);
+                });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("operation", operationType);
+        result.put("profiles", formattedProfiles);
+        return result;
+    }
+
+    private Map<String, Object> format(String email, Entry entry) {
+        Map<String, Object> logEntry = new LinkedHashMap<>();
+        logEntry.put("user", email); // User first
+        logEntry.put("@timestamp", Instant.ofEpochMilli(entry.timestamp).toString());
+        logEntry.put("message", entry.message);
+        logEntry.put("logger_name", names.nameOf(entry.loggerId));
+        logEntry.put("thread_name", names.nameOf(entry.threadId));
+        logEntry.put("level", names.nameOf(entry.levelId));
+        return logEntry;
+    }
+
+    /**
+     * Drops all aggregated state, e.g. when saved profiles could only be partially restored.
+     */
+    public void clear() {
+        profilesByOperation.values().forEach(IntObjectMap::clear);
+    }
+
+    /**
+     * The retained entries and rolled-up counters of one user for one operation type.
+     */
+    private static class UserActivity {
+        private final int emailId;
+        private final ActivityRing<Entry> entries;
+        private final ActivityRollup rollup = new ActivityRollup();
+        private int operationCount; // Every entry seen, retained or folded
+
+        UserActivity(int emailId, int maxActivities) {
+            this.emailId = emailId;
+            this.entries = new ActivityRing<>(maxActivities);
+        }
+
+        void add(Entry entry) {
+            Entry evicted = entries.add(entry);
+            if (evicted != null) {
+                rollup.fold(evicted.timestamp);
+            }
+            operationCount++;
+        }
+    }
+
+    /**
+     * One retained log entry. The user is implied by the owning {@link UserActivity}.
+     */
+    private static class Entry {
+        private final long timestamp; // Epoch millis
+        private final String message;
+        private final int loggerId; // IDs in the aggregator's name table
+        private final int threadId;
+        private final int levelId;
+
+        Entry(long timestamp, String message, int loggerId, int threadId, int levelId) {
+            this.timestamp = timestamp;
+            this.message = message;
+            this.loggerId = loggerId;
+            this.threadId = threadId;
+            this.levelId = levelId;
+        }
+    }
+}
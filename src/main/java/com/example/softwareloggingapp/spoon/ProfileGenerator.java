@@ -1,128 +1,250 @@
 package com.example.softwareloggingapp.spoon;
 
+import com.example.softwareloggingapp.lps.LogRecord;
+import com.example.softwareloggingapp.lps.LogTailer;
+import com.example.softwareloggingapp.lps.OperationClassifier;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * ProfileGenerator is responsible for aggregating user activity profiles from logs
  * and saving the results to separate JSON files for each operation type.
+ * Log entries are ingested incrementally: a {@link LogTailer} delivers only the events appended
+ * since the previous call, and they are folded into an in-memory {@link ProfileAggregator}.
+ * The profile files are written in the background by a {@link ProfileSnapshotWriter},
+ * together with a checkpoint of the log position they cover, so a restart reloads the
+ * profiles and resumes reading the log from that checkpoint.
+ *
+ * Request threads never read the log. They only queue a poll on a single background reader,
+ * and requests made while a poll is already queued share it, so concurrent requests neither queue
+ * up behind each other nor read the same lines twice.
+ * The reader also polls every {@code flushIntervalMs} milliseconds: events are written by an
+ * asynchronous appender, so the event of a request may reach the file only after the poll it
+ * queued, and would otherwise wait for the next request.
+ * The tailer and the aggregator are guarded by a {@link ReentrantLock} rather than
+ * {@code synchronized}: the lock is held while the log file is read, and a virtual thread blocking
+ * on I/O inside a monitor would stay pinned to its carrier thread.
  */
 @Service
 public class ProfileGenerator {
 
-    private static final String INPUT_FILE_PATH = "logs/application.json"; // Input log file
-    private static final String OUTPUT_DIRECTORY = "logs/"; // Directory for output profiles
+    private static final String INPUT_FILE_NAME = "application.json"; // Input log file
+    private static final String CHECKPOINT_FILE_NAME = "profiles_checkpoint.json"; // Log position covered by the profiles
     private static final ObjectMapper objectMapper = new ObjectMapper(); // JSON parser
 
+    private final Path directory; // Holds the input log, the output profiles and the checkpoint
+
+    private final OperationClassifier classifier = OperationClassifier.defaults(); // Email and operation extraction
+    private final OperationClassifier.Classification classification = new OperationClassifier.Classification(); // Reused per event
+    private final ProfileAggregator aggregator; // In-memory profiles
+    private final ProfileSnapshotWriter snapshotWriter; // Background writer for the profile files
+    private final LogTailer tailer; // Follows the input log file
+    private final ScheduledExecutorService reader; // Background thread reading the log
+    private final ReentrantLock lock = new ReentrantLock(); // Guards the tailer, the aggregator and the reused classification
+    private final AtomicBoolean pollQueued = new AtomicBoolean(); // Whether a poll is already queued on the reader
+
+    /**
+     * Creates the generator and its background snapshot writer.
+     *
+     * @param directory       the directory of the input log, where the profiles and checkpoint are written
+     * @param flushIntervalMs maximum delay before logged events are read and updated profiles are written, in milliseconds
+     * @param flushMaxEvents  number of new profile entries that triggers an earlier write
+     * @param maxActivities   log entries kept per user and operation type, older ones are rolled up
+     * @param virtualThreads  whether the log reader and the snapshot writer run on virtual threads, when the JVM provides them
+     */
+    public ProfileGenerator(@Value("${profiles.directory:logs}") String directory,
+                            @Value("${profiles.snapshot.flush-interval-ms:1000}") long flushIntervalMs,
+                            @Value("${profiles.snapshot.flush-max-events:500}") int flushMaxEvents,
+                            @Value("${profiles.retention.max-activities:1000}") int maxActivities,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.directory = Path.of(directory);
+        this.aggregator = new ProfileAggregator(maxActivities, classifier.getEmails());
+        LogTailer.Checkpoint checkpoint = LogTailer.loadCheckpoint(this.directory.resolve(CHECKPOINT_FILE_NAME));
+        if (checkpoint != null && !restoreProfiles()) {
+            aggregator.clear();
+            checkpoint = null; // The saved profiles are unusable, rebuild them from the whole log
+        }
+        this.tailer = new LogTailer(this.directory.resolve(INPUT_FILE_NAME), checkpoint);
+        this.snapshotWriter = new ProfileSnapshotWriter(this::snapshot, flushIntervalMs, flushMaxEvents,
+                VirtualThreads.factory("profile-snapshot-writer", virtualThreads));
+        this.reader = Executors.newSingleThreadScheduledExecutor(VirtualThreads.factory("profile-log-reader", virtualThreads));
+        this.reader.scheduleWithFixedDelay(this::ingestPending, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Generates aggregated profiles for READ, WRITE, and MOST_EXPENSIVE_SEARCH operations.
      * Profiles include detailed logs for each user and are saved to separate JSON files.
+     * Never blocks the caller: the new log lines are parsed by a background reader and the files
+     * are written asynchronously. A call made while a poll is queued is served by that poll, as
+     * the queued flag is cleared before the poll starts reading. Events still buffered by the
+     * asynchronous appender are read by the next periodic poll.
      */
     public void generateAggregatedProfiles() {
-        Map<String, List<Map<String, Object>>> readProfiles = new HashMap<>();
-        Map<String, List<Map<String, Object>>> writeProfiles = new HashMap<>();
-        Map<String, List<Map<String, Object>>> mostExpensiveSearchProfiles = new HashMap<>();
-
-        try (Scanner scanner = new Scanner(new File(INPUT_FILE_PATH))) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-
-                try {
-                    Map<String, Object> logEntry = objectMapper.readValue(line, Map.class);
-
-                    String message = (String) logEntry.get("message");
-                    if (message != null && message.contains("User")) {
-                        String email = extractEmail(message);
-                        String operation = extractOperation(message);
-
-                        if (email != null && operation != null) {
-                            logEntry.put("user", email); // Add user info to log entry
-                            logEntry.remove("level_value"); // Remove unnecessary fields
-                            logEntry = reorderFields(logEntry); // Reorder fields
-
-                            if ("READ".equals(operation)) {
-                                readProfiles.putIfAbsent(email, new ArrayList<>());
-                                readProfiles.get(email).add(logEntry);
-                            } else if ("WRITE".equals(operation)) {
-                                writeProfiles.putIfAbsent(email, new ArrayList<>());
-                                writeProfiles.get(email).add(logEntry);
-                            } else if ("MOST_EXPENSIVE_SEARCH".equals(operation)) {
-                                mostExpensiveSearchProfiles.putIfAbsent(email, new ArrayList<>());
-                                mostExpensiveSearchProfiles.get(email).add(logEntry);
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error parsing log entry: " + e.getMessage());
-                }
+        if (!reader.isShutdown() && pollQueued.compareAndSet(false, true)) {
+            try {
+                reader.execute(() -> {
+                    pollQueued.set(false);
+                    ingestPending();
+                });
+            } catch (RejectedExecutionException e) {
+                pollQueued.set(false); // Closing, the final poll reads the new lines
             }
+        }
+    }
 
-            saveProfiles("READ", readProfiles);
-            saveProfiles("WRITE", writeProfiles);
-            saveProfiles("MOST_EXPENSIVE_SEARCH", mostExpensiveSearchProfiles);
+    /**
+     * Reads the log lines appended since the previous poll on the calling thread, waiting for any
+     * poll in progress. Used when closing, and by callers that need the profiles to be up to date.
+     */
+    public void ingestPending() {
+        lock.lock();
+        try {
+            poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void poll() {
+        try {
+            int[] recorded = {0};
+            int[] invalidTimestamps = {0};
+            tailer.poll(record -> {
+                if (!classifier.classify(record, classification)) {
+                    return;
+                }
+                if (aggregator.record(classification.getOperation(), classification.getEmailId(), record)) {
+                    recorded[0]++;
+                } else {
+                    invalidTimestamps[0]++;
+                }
+            });
+            snapshotWriter.markUpdated(recorded[0]);
+            if (invalidTimestamps[0] > 0) {
+                System.err.println("Skipped " + invalidTimestamps[0] + " log events with a missing or malformed timestamp");
+            }
 
         } catch (IOException e) {
             System.err.println("Error reading the log file: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // Caught so that a failure does not cancel the periodic poll
+            System.err.println("Error ingesting log events: " + e.getMessage());
         }
     }
 
-    private void saveProfiles(String operationType, Map<String, List<Map<String, Object>>> profiles) {
-        List<Map<String, Object>> formattedProfiles = new ArrayList<>();
-
-        profiles.entrySet().stream()
-                .sorted((e1, e2) -> Integer.compare(e2.getValue().size(), e1.getValue().size())) // Sort by operation count
-                .forEach(entry -> {
-                    Map<String, Object> userProfile = new LinkedHashMap<>(); // Use LinkedHashMap for field order
-                    userProfile.put("user", entry.getKey());
-                    userProfile.put("operationCount", entry.getValue().size());
-                    userProfile.put("operations", entry.getValue());
-                    formattedProfiles.add(userProfile);
-                });
-
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("operation", operationType);
-        result.put("profiles", formattedProfiles);
+    /**
+     * Registers an additional operation type. Its profiles are written to
+     * {@code <operation type>_profiles.json} next to the built-in ones.
+     *
+     * @param operationType the operation type to profile
+     * @param keywords      the message keywords identifying the operation
+     */
+    public void registerOperation(String operationType, String... keywords) {
+        lock.lock();
+        try {
+            classifier.register(operationType, keywords);
+        } finally {
+            lock.unlock();
+        }
+    }
 
+    /**
+     * Copies the current profiles into the documents written by the snapshot writer.
+     * The checkpoint comes last so that it is only advanced once the profiles it covers are on disk.
+     */
+    private Map<Path, Object> snapshot() {
+        lock.lock();
         try {
-            objectMapper.writerWithDefaultPrettyPrinter()
-                    .writeValue(new File(OUTPUT_DIRECTORY + operationType.toLowerCase() + "_profiles.json"), result);
-        } catch (IOException e) {
-            System.err.println("Error writing profiles to file: " + e.getMessage());
+            Map<Path, Object> documents = new LinkedHashMap<>();
+            for (String operationType : classifier.getOperationTypes()) {
+                documents.put(profilePath(operationType), aggregator.format(operationType));
+            }
+            documents.put(directory.resolve(CHECKPOINT_FILE_NAME), tailer.checkpoint());
+            return documents;
+        } finally {
+            lock.unlock();
         }
     }
 
-    private String extractEmail(String message) {
-        int startIndex = message.indexOf("User ");
-        int endIndex = message.indexOf(" ", startIndex + 5);
-        if (startIndex != -1 && endIndex != -1) {
-            return message.substring(startIndex + 5, endIndex);
+    /**
+     * Reloads the profiles saved by a previous run.
+     *
+     * @return true if every profile file could be read, false if one is missing or unreadable
+     */
+    private boolean restoreProfiles() {
+        try {
+            for (String operationType : classifier.getOperationTypes()) {
+                Path profilePath = profilePath(operationType);
+                if (!Files.exists(profilePath)) {
+                    // Every snapshot writes all types, so the checkpoint covers events of a lost file
+                    System.err.println("Missing saved profiles, rebuilding them from the log: " + profilePath);
+                    return false;
+                }
+                for (JsonNode profile : objectMapper.readTree(profilePath.toFile()).path("profiles")) {
+                    int emailId = classifier.getEmails().intern(profile.path("user").asText());
+                    for (JsonNode operation : profile.path("operations")) {
+                        aggregator.record(operationType, emailId, toLogRecord(operation));
+                    }
+                    Map<String, Map<Long, Integer>> rollups = new HashMap<>();
+                    profile.path("rollups").fields().forEachRemaining(granularity -> {
+                        Map<Long, Integer> buckets = new HashMap<>();
+                        granularity.getValue().fields().forEachRemaining(bucket ->
+                                buckets.put(Instant.parse(bucket.getKey()).toEpochMilli(), bucket.getValue().asInt()));
+                        rollups.put(granularity.getKey(), buckets);
+                    });
+                    aggregator.restore(operationType, emailId, profile.path("operationCount").asInt(), rollups);
+                }
+            }
+            return true;
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            System.err.println("Error restoring saved profiles: " + e.getMessage());
+            return false;
         }
-        return null;
     }
 
-    private String extractOperation(String message) {
-        if (message.contains("READ operation")) {
-            return "READ";
-        } else if (message.contains("WRITE operation") || message.contains("DELETE operation")) {
-            return "WRITE";
-        } else if (message.contains("searched for the most expensive products")) {
-            return "MOST_EXPENSIVE_SEARCH";
+    private Path profilePath(String operationType) {
+        return directory.resolve(operationType.toLowerCase() + "_profiles.json");
+    }
+
+    /**
+     * Reads the remaining log lines, writes any pending profile updates and stops the background threads.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        reader.shutdown();
+        try {
+            reader.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        return null;
+        ingestPending(); // Lines logged after the last queued poll
+        snapshotWriter.close();
+        tailer.close();
     }
 
-    private Map<String, Object> reorderFields(Map<String, Object> logEntry) {
-        Map<String, Object> reorderedLog = new LinkedHashMap<>();
-        reorderedLog.put("user", logEntry.get("user")); // Move user to the top
-        reorderedLog.put("@timestamp", logEntry.get("@timestamp"));
-        reorderedLog.put("message", logEntry.get("message"));
-        reorderedLog.put("logger_name", logEntry.get("logger_name"));
-        reorderedLog.put("thread_name", logEntry.get("thread_name"));
-        reorderedLog.put("level", logEntry.get("level"));
-        return reorderedLog;
+    private LogRecord toLogRecord(JsonNode savedEntry) {
+        LogRecord record = new LogRecord();
+        record.setTimestamp(savedEntry.path("@timestamp").textValue());
+        record.setMessage(savedEntry.path("message").textValue());
+        record.setLoggerName(savedEntry.path("logger_name").textValue());
+        record.setThreadName(savedEntry.path("thread_name").textValue());
+        record.setLevel(savedEntry.path("level").textValue());
+        return record;
     }
 }
@@ -0,0 +1,129 @@
+package com.example.softwareloggingapp.spoon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * ProfileSnapshotWriter persists profile snapshots on a background thread.
+ * Updates are coalesced: a flush happens at most every {@code flushIntervalMs} milliseconds,
+ * or as soon as {@code flushMaxEvents} updates are pending. Each file is written to a
+ * temporary file first and then renamed over the target, so readers never see a partial file.
+ * Flushes never overlap, so two flushes cannot interleave their writes to the same temporary file,
+ * even when closing runs the final flush while a periodic one is still in progress.
+ */
+public class ProfileSnapshotWriter implements AutoCloseable {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper(); // JSON writer
+
+    private final Supplier<Map<Path, Object>> snapshotSupplier; // Produces the documents to write, keyed by target file
+    private final int flushMaxEvents; // Number of pending updates that triggers an early flush
+    private final ScheduledExecutorService executor;
+
+    private final AtomicInteger pendingEvents = new AtomicInteger(); // Updates not yet flushed
+    private final AtomicBoolean flushQueued = new AtomicBoolean(); // Whether an early flush is already queued
+    private final ReentrantLock flushLock = new ReentrantLock(); // Held while writing, which blocks on I/O
+
+    /**
+     * Creates a writer and starts its periodic flush task.
+     *
+     * @param snapshotSupplier supplies a consistent copy of the documents to write, keyed by target file
+     * @param flushIntervalMs  maximum delay between an update and its flush, in milliseconds
+     * @param flushMaxEvents   number of pending updates that triggers a flush before the interval elapses
+     * @param threadFactory    creates the background thread, see {@link VirtualThreads}
+     */
+    public ProfileSnapshotWriter(Supplier<Map<Path, Object>> snapshotSupplier, long flushIntervalMs, int flushMaxEvents,
+                                 ThreadFactory threadFactory) {
+        this.snapshotSupplier = snapshotSupplier;
+        this.flushMaxEvents = flushMaxEvents;
+        this.executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.executor.scheduleWithFixedDelay(this::flushIfPending, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Signals that new updates were applied to the profiles. Never blocks the caller.
+     *
+     * @param eventCount the number of updates applied
+     */
+    public void markUpdated(int eventCount) {
+        if (eventCount <= 0) {
+            return;
+        }
+        if (pendingEvents.addAndGet(eventCount) >= flushMaxEvents
+                && !executor.isShutdown()
+                && flushQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                flushQueued.set(false);
+                flushIfPending();
+            });
+        }
+    }
+
+    private void flushIfPending() {
+        int pending = pendingEvents.getAndSet(0);
+        if (pending > 0 && !flush()) {
+            pendingEvents.addAndGet(pending); // Retried by the next periodic flush
+        }
+    }
+
+    /**
+     * Writes the documents in the order of the snapshot, stopping at the first failure so that
+     * the documents after it, such as a checkpoint, never get ahead of the ones before it.
+     *
+     * @return true if every document was written
+     */
+    private boolean flush() {
+        flushLock.lock();
+        try {
+            for (Map.Entry<Path, Object> entry : snapshotSupplier.get().entrySet()) {
+                writeAtomically(entry.getKey(), entry.getValue());
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing profiles to file: " + e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            System.err.println("Error writing profile snapshot: " + e.getMessage());
+            return false;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void writeAtomically(Path target, Object document) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temporary.toFile(), document);
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Flushes any pending updates and stops the background thread.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushIfPending();
+    }
+}
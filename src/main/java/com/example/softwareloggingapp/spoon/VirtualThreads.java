@@ -0,0 +1,63 @@
+package com.example.softwareloggingapp.spoon;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads of background tasks, as virtual threads when they are enabled and the
+ * JVM provides them (Java 21 and later). The project targets Java 17, so the virtual thread
+ * API is looked up reflectively; on older JVMs platform daemon threads are created instead.
+ *
+ * A virtual thread is pinned to its carrier thread while it blocks inside a {@code synchronized}
+ * block or method, so code run on these threads must guard blocking work with
+ * {@link java.util.concurrent.locks.ReentrantLock} rather than with a monitor.
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = findOfVirtual(); // Thread.ofVirtual(), null before Java 21
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether the JVM provides virtual threads.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns a factory for the threads of a background task.
+     *
+     * @param name    the name given to the threads
+     * @param virtual whether to create virtual threads, ignored when the JVM does not provide them
+     * @return the thread factory
+     */
+    public static ThreadFactory factory(String name, boolean virtual) {
+        if (virtual && isSupported()) {
+            try {
+                Object builder = OF_VIRTUAL.invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builderType.getMethod("name", String.class).invoke(builder, name);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                System.err.println("Error creating virtual threads, using platform threads: " + e.getMessage());
+            }
+        } else if (virtual) {
+            System.err.println("Virtual threads require Java 21, " + name + " runs on a platform thread");
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Method findOfVirtual() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.softwareloggingapp.controller;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.softwareloggingapp.model.BulkResult;
+import com.example.softwareloggingapp.model.Product;
+import com.example.softwareloggingapp.repository.ProductRepository;
+import com.example.softwareloggingapp.service.ProductCache;
+import com.example.softwareloggingapp.service.ProductPriceIndex;
+import com.example.softwareloggingapp.service.ProductService;
+import com.example.softwareloggingapp.spoon.ProfileGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductControllerTest {
+
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ProductController.class);
+
+    private final ProductService productService = mock(ProductService.class);
+    private final ProfileGenerator profileGenerator = mock(ProfileGenerator.class);
+    private final MockMvc mvc = MockMvcBuilders
+            .standaloneSetup(new ProductController(productService, profileGenerator, new ObjectMapper()))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        events.start();
+        logger.addAppender(events);
+        logger.setAdditive(false); // Keeps the events out of the application log
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(events);
+        logger.setAdditive(true);
+    }
+
+    @Test
+    void createsAProduct() throws Exception {
+        Product saved = new Product();
+        saved.setId("a");
+        when(productService.addProduct(any())).thenReturn(saved);
+
+        mvc.perform(create("{\"name\": \"Milk\", \"price\": 1.5}"))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("Product added successfully"));
+        assertThat(operationFields()).contains("op=WRITE", "entityId=a", "outcome=success");
+    }
+
+    @Test
+    void answersConflictWhenTheIdIsTaken() throws Exception {
+        when(productService.addProduct(any())).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        mvc.perform(create("{\"id\": \"a\", \"name\": \"Milk\", \"price\": 1.5}"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Product already exists!"));
+        assertThat(operationFields()).contains("op=WRITE", "entityId=a", "outcome=failure");
+    }
+
+    @Test
+    void createsAProductWhenTheBodyCarriesAVersion() throws Exception {
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            if (product.getVersion() != null) { // Saved as an update of version 3, which does not exist
+                throw new OptimisticLockingFailureException("Cannot save entity a with version 3");
+            }
+            return product;
+        });
+        ProductService service = new ProductService(repository, mock(MongoTemplate.class), new ProductPriceIndex(3),
+                new ProductCache(100, 600, new SimpleMeterRegistry()), OpenTelemetry.noop().getTracer("test"));
+        MockMvc realService = MockMvcBuilders
+                .standaloneSetup(new ProductController(service, profileGenerator, new ObjectMapper()))
+                .build();
+
+        realService.perform(create("{\"id\": \"a\", \"name\": \"Milk\", \"price\": 1.5, \"version\": 3}"))
+                .andExpect(status().isCreated());
+        verify(repository).save(argThat(product -> product.getVersion() == null)); // Inserted, never updated
+    }
+
+    @Test
+    void logsAFailedReadAndStillUpdatesTheProfiles() {
+        when(productService.getProductById("missing")).thenThrow(new RuntimeException("Product not found!"));
+
+        assertThatThrownBy(() -> mvc.perform(get("/api/products/readProductById/missing").header("user-email", "a@example.com")))
+                .hasRootCauseMessage("Product not found!");
+
+        assertThat(events.list).singleElement().extracting(ILoggingEvent::getFormattedMessage)
+                .isEqualTo("User a@example.com performed READ operation: fetching product with ID missing");
+        assertThat(operationFields()).contains("op=READ", "user=a@example.com", "entityId=missing", "outcome=failure");
+        verify(profileGenerator).generateAggregatedProfiles();
+    }
+
+    @Test
+    void logsAFailedBulkRequest() {
+        when(productService.bulkAddProducts(any(), anyBoolean(), anyInt(), any())).thenAnswer(invocation -> {
+            invocation.<Iterator<Product>>getArgument(0).forEachRemaining(product -> {
+            }); // Reads the malformed body
+            return new BulkResult();
+        });
+
+        assertThatThrownBy(() -> mvc.perform(post("/api/products/bulk")
+                .header("user-email", "a@example.com")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\": ")));
+
+        assertThat(operationFields()).contains("op=WRITE", "outcome=failure");
+    }
+
+    // The structured fields of the single operation logged
+    private String operationFields() {
+        assertThat(events.list).hasSize(1);
+        Object[] arguments = events.list.get(0).getArgumentArray();
+        return arguments[arguments.length - 1].toString();
+    }
+
+    private static RequestBuilder create(String body) {
+        return post("/api/products/create")
+                .header("user-email", "a@example.com")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+}
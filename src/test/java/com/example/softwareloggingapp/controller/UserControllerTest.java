@@ -0,0 +1,85 @@
+package com.example.softwareloggingapp.controller;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.softwareloggingapp.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+class UserControllerTest {
+
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(UserController.class);
+    private final UserService userService = mock(UserService.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new UserController(userService, new ObjectMapper())).build();
+
+    @BeforeEach
+    void setUp() {
+        events.start();
+        logger.addAppender(events);
+        logger.setAdditive(false); // Keeps the events out of the application log
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(events);
+        logger.setAdditive(true);
+    }
+
+    @Test
+    void logsTheOutcomeOfEveryAuthenticationAttempt() throws Exception {
+        when(userService.authenticate("a@example.com", "secret")).thenReturn(true);
+
+        mvc.perform(authenticate("secret")).andExpect(content().string("true"));
+        mvc.perform(authenticate("wrong")).andExpect(content().string("false"));
+
+        assertThat(operationFields()).containsExactly(
+                "{op=AUTHENTICATE, user=a@example.com, entity=user, outcome=success",
+                "{op=AUTHENTICATE, user=a@example.com, entity=user, outcome=failure");
+    }
+
+    @Test
+    void logsAFailedUserCreation() {
+        when(userService.createUser(any())).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        assertThatThrownBy(() -> mvc.perform(post("/api/users/createUser")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"a@example.com\", \"password\": \"secret\"}")));
+
+        assertThat(operationFields()).containsExactly("{op=CREATE, user=a@example.com, entity=user, outcome=failure");
+    }
+
+    private static RequestBuilder authenticate(String password) {
+        return post("/api/users/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"a@example.com\", \"password\": \"" + password + "\"}");
+    }
+
+    // The structured fields of the operations logged, up to their duration
+    private List<String> operationFields() {
+        return events.list.stream()
+                .filter(event -> event.getArgumentArray() != null && event.getArgumentArray().length > 1)
+                .map(event -> event.getArgumentArray()[event.getArgumentArray().length - 1].toString())
+                .map(fields -> fields.substring(0, fields.indexOf(", durationMs")))
+                .toList();
+    }
+}
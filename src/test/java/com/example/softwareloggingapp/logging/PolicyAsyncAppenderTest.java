@@ -0,0 +1,153 @@
+package com.example.softwareloggingapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class PolicyAsyncAppenderTest {
+
+    private static final int RING_BUFFER_SIZE = 4;
+
+    private final LoggerContext context = new LoggerContext();
+    private final BlockingAppender delegate = new BlockingAppender();
+    private final PolicyAsyncAppender appender = new PolicyAsyncAppender();
+    private final List<Thread> threads = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        delegate.release.countDown();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+        appender.stop();
+    }
+
+    @Test
+    void blocksCallersUntilThereIsFreeSpace() throws InterruptedException {
+        start(PolicyAsyncAppender.OverflowPolicy.BLOCK, 10);
+        fillRingBuffer();
+
+        appendConcurrently(Level.INFO, 5);
+        Thread.sleep(100);
+        assertThat(delegate.messages).hasSize(1); // Only the event stuck in the delegate
+
+        delegate.release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> delegate.messages.size() == RING_BUFFER_SIZE + 5);
+        assertThat(appender.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void dropsInfoEventsButKeepsWarningsWhenFull() throws InterruptedException {
+        start(PolicyAsyncAppender.OverflowPolicy.DROP_INFO, 10);
+        fillRingBuffer();
+
+        for (int i = 0; i < 5; i++) {
+            appender.doAppend(event(Level.INFO, "overflow " + i)); // Returns at once
+        }
+        appendConcurrently(Level.WARN, 1);
+        Thread.sleep(100);
+        assertThat(threads.get(0).isAlive()).isTrue(); // Waiting for free space
+        assertThat(appender.getDroppedCount()).isEqualTo(5);
+
+        delegate.release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> delegate.messages.size() == RING_BUFFER_SIZE + 1);
+        assertThat(delegate.messages).contains("WARN 0").noneMatch(message -> message.startsWith("overflow"));
+    }
+
+    @Test
+    void keepsOneInSampleRateInfoEventsWhenFull() {
+        start(PolicyAsyncAppender.OverflowPolicy.SAMPLE, 3);
+        fillRingBuffer();
+
+        appendConcurrently(Level.INFO, 9); // The kept ones wait for free space, the others return
+        await().atMost(Duration.ofSeconds(5)).until(() -> appender.getDroppedCount() == 6);
+
+        delegate.release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> delegate.messages.size() == RING_BUFFER_SIZE + 3);
+        assertThat(appender.getDroppedCount()).isEqualTo(6);
+    }
+
+    @Test
+    void deliversEverythingWhileThereIsSpace() {
+        start(PolicyAsyncAppender.OverflowPolicy.DROP_INFO, 10);
+        delegate.release.countDown();
+
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(event(Level.INFO, "event " + i));
+            int delivered = i + 1;
+            await().atMost(Duration.ofSeconds(5)).pollInterval(Duration.ofMillis(1))
+                    .until(() -> delegate.messages.size() == delivered); // Never full
+        }
+
+        assertThat(appender.getDroppedCount()).isZero();
+    }
+
+    private void start(PolicyAsyncAppender.OverflowPolicy policy, int sampleRate) {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        delegate.setContext(context);
+        delegate.start();
+        appender.setContext(context);
+        appender.setRingBufferSize(RING_BUFFER_SIZE);
+        appender.setOverflowPolicy(policy);
+        appender.setSampleRate(sampleRate);
+        appender.addAppender(delegate);
+        appender.start();
+    }
+
+    // One event held by the blocked delegate, and every slot of the ring buffer taken
+    private void fillRingBuffer() {
+        appender.doAppend(event(Level.INFO, "first"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> delegate.entered.getCount() == 0);
+        for (int i = 1; i < RING_BUFFER_SIZE; i++) {
+            appender.doAppend(event(Level.INFO, "queued " + i));
+        }
+    }
+
+    private void appendConcurrently(Level level, int count) {
+        for (int i = 0; i < count; i++) {
+            ILoggingEvent event = event(level, level + " " + i);
+            Thread thread = new Thread(() -> appender.doAppend(event));
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    private ILoggingEvent event(Level level, String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, message, null, null);
+    }
+
+    // Records the messages, waiting for the test's permission before the first one returns
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        final Queue<String> messages = new ConcurrentLinkedQueue<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            messages.add(event.getMessage());
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
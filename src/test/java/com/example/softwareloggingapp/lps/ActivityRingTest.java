@@ -0,0 +1,69 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivityRingTest {
+
+    @Test
+    void evictsTheOldestActivityOnceFull() {
+        ActivityRing<Integer> ring = new ActivityRing<>(3);
+        assertThat(ring.add(1)).isNull();
+        assertThat(ring.add(2)).isNull();
+        assertThat(ring.add(3)).isNull();
+
+        assertThat(ring.add(4)).isEqualTo(1);
+        assertThat(ring.add(5)).isEqualTo(2);
+        assertThat(ring.toList()).containsExactly(3, 4, 5);
+        assertThat(ring.get(0)).isEqualTo(3);
+        assertThat(ring.size()).isEqualTo(3);
+    }
+
+    @Test
+    void growsPastItsInitialStorage() {
+        ActivityRing<Integer> ring = new ActivityRing<>(100);
+        for (int i = 0; i < 150; i++) {
+            ring.add(i);
+        }
+
+        assertThat(ring.size()).isEqualTo(100);
+        assertThat(ring.get(0)).isEqualTo(50);
+        assertThat(ring.get(99)).isEqualTo(149);
+    }
+
+    @Test
+    void insertsLateActivitiesInOrder() {
+        ActivityRing<Integer> ring = new ActivityRing<>(4);
+        ring.addOrdered(10, Comparator.naturalOrder());
+        ring.addOrdered(30, Comparator.naturalOrder());
+        ring.addOrdered(20, Comparator.naturalOrder());
+        ring.addOrdered(40, Comparator.naturalOrder());
+
+        assertThat(ring.addOrdered(25, Comparator.naturalOrder())).isEqualTo(10);
+        assertThat(ring.toList()).containsExactly(20, 25, 30, 40);
+    }
+
+    @Test
+    void rejectsAnActivityOlderThanEveryRetainedOneWhenFull() {
+        ActivityRing<Integer> ring = new ActivityRing<>(2);
+        ring.addOrdered(10, Comparator.naturalOrder());
+        ring.addOrdered(20, Comparator.naturalOrder());
+
+        assertThat(ring.addOrdered(5, Comparator.naturalOrder())).isEqualTo(5);
+        assertThat(ring.toList()).containsExactly(10, 20);
+    }
+
+    @Test
+    void keepsAtLeastOneActivity() {
+        ActivityRing<Integer> ring = new ActivityRing<>(0);
+        ring.add(1);
+
+        assertThat(ring.capacity()).isEqualTo(1);
+        assertThat(ring.add(2)).isEqualTo(1);
+        assertThatThrownBy(() -> ring.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
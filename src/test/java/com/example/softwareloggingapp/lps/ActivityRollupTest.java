@@ -0,0 +1,101 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivityRollupTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long DECEMBER_4 = 1_733_299_200_000L; // 2024-12-04T08:00:00Z
+
+    @Test
+    void countsAnActivityInItsMinuteHourAndDay() {
+        ActivityRollup rollup = new ActivityRollup();
+        rollup.fold(DECEMBER_4 + 12_345);
+        rollup.fold(DECEMBER_4 + 59_999);
+        rollup.fold(DECEMBER_4 + 61 * MINUTE);
+
+        assertThat(rollup.toDocument()).isEqualTo(Map.of(
+                "perMinute", Map.of("2024-12-04T08:00:00Z", 2, "2024-12-04T09:01:00Z", 1),
+                "perHour", Map.of("2024-12-04T08:00:00Z", 2, "2024-12-04T09:00:00Z", 1),
+                "perDay", Map.of("2024-12-04T00:00:00Z", 3)));
+    }
+
+    @Test
+    void roundsTimestampsBeforeTheEpochDown() {
+        ActivityRollup rollup = new ActivityRollup();
+        rollup.fold(-1);
+
+        assertThat(rollup.getPerMinute()).containsExactly(Map.entry(-MINUTE, 1));
+        assertThat(rollup.getPerDay()).containsExactly(Map.entry(-86_400_000L, 1));
+    }
+
+    @Test
+    void keepsBucketsSortedWhenActivitiesArriveOutOfOrder() {
+        ActivityRollup rollup = new ActivityRollup();
+        rollup.fold(DECEMBER_4 + 2 * MINUTE);
+        rollup.fold(DECEMBER_4);
+        rollup.fold(DECEMBER_4 + MINUTE);
+        rollup.fold(DECEMBER_4);
+
+        assertThat(rollup.getPerMinute().keySet())
+                .containsExactly(DECEMBER_4, DECEMBER_4 + MINUTE, DECEMBER_4 + 2 * MINUTE);
+        assertThat(rollup.getPerMinute().get(DECEMBER_4)).isEqualTo(2);
+    }
+
+    @Test
+    void dropsTheOldestBucketsBeyondTheRetainedNumber() {
+        ActivityRollup rollup = new ActivityRollup();
+        for (int minute = 0; minute < ActivityRollup.MAX_MINUTE_BUCKETS + 10; minute++) {
+            rollup.fold(DECEMBER_4 + minute * MINUTE);
+        }
+
+        Map<Long, Integer> perMinute = rollup.getPerMinute();
+        assertThat(perMinute).hasSize(ActivityRollup.MAX_MINUTE_BUCKETS);
+        assertThat(perMinute.keySet().iterator().next()).isEqualTo(DECEMBER_4 + 10 * MINUTE);
+
+        rollup.fold(DECEMBER_4); // Older than every retained bucket
+        assertThat(rollup.getPerMinute()).isEqualTo(perMinute);
+    }
+
+    @Test
+    void behavesLikeABoundedSortedMap() {
+        ActivityRollup rollup = new ActivityRollup();
+        TreeMap<Long, Integer> expected = new TreeMap<>();
+        Random random = new Random(7);
+        long time = DECEMBER_4;
+        for (int i = 0; i < 50_000; i++) {
+            time += random.nextInt(4) == 0 ? -random.nextInt(600) * MINUTE : random.nextInt(120_000);
+            rollup.fold(time);
+            long bucket = Math.floorDiv(time, MINUTE) * MINUTE;
+            expected.merge(bucket, 1, Integer::sum);
+            while (expected.size() > ActivityRollup.MAX_MINUTE_BUCKETS) {
+                expected.pollFirstEntry();
+            }
+        }
+
+        assertThat(rollup.getPerMinute()).containsExactlyEntriesOf(expected);
+    }
+
+    @Test
+    void mergesAndRestoresCounters() {
+        ActivityRollup first = new ActivityRollup();
+        first.fold(DECEMBER_4);
+        ActivityRollup second = new ActivityRollup();
+        second.fold(DECEMBER_4 + 30_000);
+        second.fold(DECEMBER_4 + 2 * MINUTE);
+        second.restore("perHour", DECEMBER_4 - 3_600_000L, 5);
+
+        first.merge(second);
+
+        assertThat(first.getPerMinute()).containsExactly(Map.entry(DECEMBER_4, 2), Map.entry(DECEMBER_4 + 2 * MINUTE, 1));
+        assertThat(first.getPerHour()).containsExactly(Map.entry(DECEMBER_4 - 3_600_000L, 5), Map.entry(DECEMBER_4, 3));
+        assertThatThrownBy(() -> first.restore("perWeek", DECEMBER_4, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntObjectMapTest {
+
+    private final IntObjectMap<String> map = new IntObjectMap<>();
+
+    @Test
+    void computesEachValueOnce() {
+        AtomicInteger computed = new AtomicInteger();
+
+        assertThat(map.computeIfAbsent(7, key -> "v" + key + "/" + computed.incrementAndGet())).isEqualTo("v7/1");
+        assertThat(map.computeIfAbsent(7, key -> "v" + key + "/" + computed.incrementAndGet())).isEqualTo("v7/1");
+
+        assertThat(map.get(7)).isEqualTo("v7/1");
+        assertThat(map.get(8)).isNull();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void behavesLikeAHashMapAcrossResizes() {
+        Map<Integer, String> expected = new HashMap<>();
+        for (int key = 0; key < 5_000; key += 3) {
+            map.computeIfAbsent(key, String::valueOf);
+            expected.put(key, String.valueOf(key));
+        }
+        map.computeIfAbsent(0, key -> "replaced"); // Present, left unchanged
+
+        Map<Integer, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+        assertThat(map.size()).isEqualTo(expected.size());
+        assertThat(map.get(4_998)).isEqualTo("4998");
+        assertThat(map.get(4_997)).isNull();
+    }
+
+    @Test
+    void emptiesOnClear() {
+        map.computeIfAbsent(1, String::valueOf);
+
+        map.clear();
+
+        assertThat(map.size()).isZero();
+        assertThat(map.get(1)).isNull();
+        assertThat(map.computeIfAbsent(1, key -> "again")).isEqualTo("again");
+    }
+}
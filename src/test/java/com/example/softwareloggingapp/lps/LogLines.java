@@ -0,0 +1,61 @@
+package com.example.softwareloggingapp.lps;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Builds log lines in the layout written by the FILE appender, for tests that feed log files.
+ */
+public final class LogLines {
+
+    private static final String LOGGER = "com.example.softwareloggingapp.controller.ProductController";
+
+    private LogLines() {
+    }
+
+    /**
+     * Returns a structured product operation event, as logged by the controllers.
+     *
+     * @param timestamp the ISO-8601 timestamp of the event
+     * @param user      the user's email
+     * @param op        the structured operation, e.g. READ or WRITE
+     * @param message   the human-readable message
+     * @return the event followed by a line break
+     */
+    public static String structured(String timestamp, String user, String op, String message) {
+        return "{\"@timestamp\":\"" + timestamp + "\",\"message\":\"" + message + "\",\"logger_name\":\"" + LOGGER
+                + "\",\"thread_name\":\"http-nio-8080-exec-1\",\"level\":\"INFO\",\"op\":\"" + op
+                + "\",\"user\":\"" + user + "\",\"entity\":\"product\"}\n";
+    }
+
+    /**
+     * Returns a legacy event whose user and operation can only be found in its message.
+     *
+     * @param timestamp the ISO-8601 timestamp of the event
+     * @param message   the message, e.g. {@code "User a@example.com performed READ operation: ..."}
+     * @return the event followed by a line break
+     */
+    public static String legacy(String timestamp, String message) {
+        return "{\"@timestamp\":\"" + timestamp + "\",\"message\":\"" + message + "\",\"logger_name\":\"" + LOGGER
+                + "\",\"thread_name\":\"http-nio-8080-exec-1\",\"level\":\"INFO\"}\n";
+    }
+
+    /**
+     * Returns a READ event of the given user, numbered to tell events apart.
+     */
+    public static String read(String user, int number) {
+        return structured("2024-12-04T08:00:00.000+01:00", user, "READ",
+                "User " + user + " performed READ operation: fetching product with ID " + number);
+    }
+
+    /**
+     * Appends lines to a file, creating it if needed.
+     */
+    public static void append(Path file, String... lines) throws IOException {
+        Files.writeString(file, String.join("", lines), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRecordReaderTest {
+
+    private final LogRecordReader reader = new LogRecordReader();
+
+    @Test
+    void readsTheKeptFieldsAndSkipsTheOthers() {
+        byte[] data = ("{\"@timestamp\":\"2024-12-04T08:00:00Z\",\"@version\":\"1\",\"message\":\"hello\","
+                + "\"logger_name\":\"L\",\"thread_name\":\"T\",\"level\":\"INFO\",\"level_value\":20000,"
+                + "\"op\":\"READ\",\"user\":\"a@example.com\",\"tags\":[\"x\",{\"y\":1}]}\n").getBytes(StandardCharsets.UTF_8);
+        List<String> fields = new ArrayList<>();
+
+        int consumed = reader.read(data, 0, data.length, record -> fields.addAll(List.of(record.getTimestamp(),
+                record.getMessage(), record.getLoggerName(), record.getThreadName(), record.getLevel(),
+                record.getOp(), record.getUser())));
+
+        assertThat(consumed).isEqualTo(data.length);
+        assertThat(fields).containsExactly("2024-12-04T08:00:00Z", "hello", "L", "T", "INFO", "READ", "a@example.com");
+    }
+
+    @Test
+    void readsTheUserNestedByTheMdcProvider() {
+        byte[] data = "{\"message\":\"m\",\"user\":{\"user\":\"a@example.com\",\"other\":[1]}}".getBytes(StandardCharsets.UTF_8);
+        List<String> users = new ArrayList<>();
+
+        reader.read(data, 0, data.length, record -> users.add(record.getUser()));
+
+        assertThat(users).containsExactly("a@example.com");
+    }
+
+    @Test
+    void resetsFieldsMissingFromTheNextEvent() {
+        byte[] data = "{\"message\":\"first\",\"op\":\"READ\"}\n{\"message\":\"second\"}\n".getBytes(StandardCharsets.UTF_8);
+        List<String> ops = new ArrayList<>();
+
+        reader.read(data, 0, data.length, record -> ops.add(record.getOp()));
+
+        assertThat(ops).containsExactly("READ", null);
+    }
+
+    @Test
+    void stopsBeforeAnIncompleteTrailingEvent() {
+        String complete = "{\"message\":\"first\"}\n";
+        byte[] data = (complete + "{\"message\":\"sec").getBytes(StandardCharsets.UTF_8);
+        List<String> messages = new ArrayList<>();
+
+        int consumed = reader.read(data, 0, data.length, record -> messages.add(record.getMessage()));
+
+        assertThat(messages).containsExactly("first");
+        assertThat(consumed).isEqualTo(complete.indexOf('}') + 1); // Just after the complete event
+    }
+
+    @Test
+    void readsPrettyPrintedEventsSpanningSeveralLines() {
+        byte[] data = "{\n  \"message\" : \"first\"\n}\n{\n  \"message\" : \"second\"\n}\n".getBytes(StandardCharsets.UTF_8);
+        List<String> messages = new ArrayList<>();
+
+        reader.read(data, 0, data.length, record -> messages.add(record.getMessage()));
+
+        assertThat(messages).containsExactly("first", "second");
+    }
+
+    @Test
+    void skipsAMalformedLineAndGoesOn() {
+        byte[] data = "{\"message\":\"first\"}\n{\"message\" \"broken\"}\n{\"message\":\"third\"}\n".getBytes(StandardCharsets.UTF_8);
+        List<String> messages = new ArrayList<>();
+
+        int consumed = reader.read(data, 0, data.length, record -> messages.add(record.getMessage()));
+
+        assertThat(messages).containsExactly("first", "third");
+        assertThat(consumed).isEqualTo(data.length);
+    }
+
+    @Test
+    void readsFromTheBufferPositionWithoutMovingIt() {
+        byte[] bytes = "xxxx{\"message\":\"first\"}\n".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).position(4);
+        List<String> messages = new ArrayList<>();
+
+        int consumed = reader.read(buffer, record -> messages.add(record.getMessage()));
+
+        assertThat(messages).containsExactly("first");
+        assertThat(consumed).isEqualTo(bytes.length - 4);
+        assertThat(buffer.position()).isEqualTo(4);
+    }
+
+    @Test
+    void readsAStreamLargerThanItsBuffer() throws IOException {
+        StringBuilder log = new StringBuilder();
+        String longMessage = "m".repeat(100_000); // A single event larger than the 64 KiB read buffer
+        log.append("{\"message\":\"").append(longMessage).append("\"}\n");
+        for (int i = 0; i < 5_000; i++) {
+            log.append("{\"message\":\"").append(i).append("\"}\n");
+        }
+        List<String> messages = new ArrayList<>();
+
+        long consumed = reader.read(new ByteArrayInputStream(log.toString().getBytes(StandardCharsets.UTF_8)),
+                record -> messages.add(record.getMessage()));
+
+        assertThat(consumed).isEqualTo(log.length());
+        assertThat(messages).hasSize(5_001);
+        assertThat(messages.get(0)).isEqualTo(longMessage);
+        assertThat(messages.get(5_000)).isEqualTo("4999");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSegmentsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void listsRolledSegmentsByDateThenNumericIndex() throws IOException {
+        Path log = directory.resolve("application.json");
+        for (String name : new String[]{"application.json", "application.2024-12-05.0.json.gz",
+                "application.2024-12-04.10.json.gz", "application.2024-12-04.2.json", "application.2024-12-04.9.json.gz",
+                "application.2024-12-04.1.json.tmp", "other.2024-12-04.0.json.gz", "profiles.json"}) {
+            Files.createFile(directory.resolve(name));
+        }
+
+        assertThat(LogSegments.list(log)).extracting(segment -> segment.getFileName().toString()).containsExactly(
+                "application.2024-12-04.2.json", "application.2024-12-04.9.json.gz",
+                "application.2024-12-04.10.json.gz", "application.2024-12-05.0.json.gz");
+        assertThat(LogSegments.newest(log)).isEqualTo("application.2024-12-05.0.json.gz");
+        assertThat(LogSegments.compare("application.2024-12-04.9.json.gz", "application.2024-12-04.10.json.gz")).isNegative();
+    }
+
+    @Test
+    void reportsNoSegmentsForANewLog() throws IOException {
+        assertThat(LogSegments.list(directory.resolve("application.json"))).isEmpty();
+        assertThat(LogSegments.newest(directory.resolve("application.json"))).isNull();
+        assertThat(LogSegments.list(directory.resolve("missing").resolve("application.json"))).isEmpty();
+    }
+
+    @Test
+    void readsCompressedAndPlainSegments() throws IOException {
+        Path compressed = directory.resolve("application.2024-12-04.0.json.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            out.write("{\"message\":\"a\"}\n".getBytes(StandardCharsets.UTF_8));
+        }
+        Path plain = Files.writeString(directory.resolve("application.2024-12-04.1.json"), "{\"message\":\"b\"}\n");
+
+        try (InputStream in = LogSegments.open(compressed)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"message\":\"a\"}\n");
+        }
+        try (InputStream in = LogSegments.open(plain)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"message\":\"b\"}\n");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogTailerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void holdsBackAnEventStillBeingWritten() throws IOException {
+        Path log = directory.resolve("application.json");
+        String third = LogLines.read("a@example.com", 3);
+        LogLines.append(log, LogLines.read("a@example.com", 1), LogLines.read("a@example.com", 2),
+                third.substring(0, 40));
+
+        try (LogTailer tailer = new LogTailer(log, null)) {
+            assertThat(poll(tailer)).containsExactly(message(1), message(2));
+
+            LogLines.append(log, third.substring(40));
+            assertThat(poll(tailer)).containsExactly(message(3));
+            assertThat(poll(tailer)).isEmpty();
+        }
+    }
+
+    @Test
+    void resumesFromACheckpoint() throws IOException {
+        Path log = directory.resolve("application.json");
+        LogLines.append(log, LogLines.read("a@example.com", 1), LogLines.read("a@example.com", 2));
+        LogTailer.Checkpoint checkpoint;
+        try (LogTailer tailer = new LogTailer(log, null)) {
+            poll(tailer);
+            checkpoint = tailer.checkpoint();
+        }
+        assertThat(checkpoint.getOffset()).isEqualTo(Files.size(log));
+
+        LogLines.append(log, LogLines.read("a@example.com", 3));
+        try (LogTailer tailer = new LogTailer(log, checkpoint)) {
+            assertThat(poll(tailer)).containsExactly(message(3));
+        }
+    }
+
+    @Test
+    void finishesTheOldFileOnRollover() throws IOException {
+        Path log = directory.resolve("application.json");
+        LogLines.append(log, LogLines.read("a@example.com", 1));
+        try (LogTailer tailer = new LogTailer(log, null)) {
+            assertThat(poll(tailer)).containsExactly(message(1));
+
+            LogLines.append(log, LogLines.read("a@example.com", 2)); // Written just before the rollover
+            Files.move(log, directory.resolve("application.2024-12-04.0.json"));
+            LogLines.append(log, LogLines.read("a@example.com", 3));
+
+            assertThat(poll(tailer)).containsExactly(message(2), message(3));
+            assertThat(tailer.checkpoint().getSegment()).isEqualTo("application.2024-12-04.0.json");
+        }
+    }
+
+    @Test
+    void resumesInsideTheCheckpointedFileAfterItWasRolledAndCompressed() throws IOException {
+        Path log = directory.resolve("application.json");
+        LogLines.append(log, LogLines.read("a@example.com", 1));
+        LogTailer.Checkpoint checkpoint;
+        try (LogTailer tailer = new LogTailer(log, null)) {
+            poll(tailer);
+            checkpoint = tailer.checkpoint();
+        }
+
+        LogLines.append(log, LogLines.read("a@example.com", 2));
+        Path rolled = directory.resolve("application.2024-12-04.0.json.tmp"); // Renamed first, as logback does
+        Files.move(log, rolled);
+        LogLines.append(log, LogLines.read("a@example.com", 3));
+        gzip(rolled, directory.resolve("application.2024-12-04.0.json.gz"));
+
+        try (LogTailer tailer = new LogTailer(log, checkpoint)) {
+            assertThat(poll(tailer)).containsExactly(message(2), message(3));
+        }
+    }
+
+    @Test
+    void readsEverySegmentInOrderWhenStartingFromScratch() throws IOException {
+        Path log = directory.resolve("application.json");
+        LogLines.append(directory.resolve("application.2024-12-04.10.json"), LogLines.read("a@example.com", 3));
+        LogLines.append(directory.resolve("application.2024-12-04.2.json"), LogLines.read("a@example.com", 2));
+        LogLines.append(directory.resolve("application.2024-12-03.7.json"), LogLines.read("a@example.com", 1));
+        LogLines.append(log, LogLines.read("a@example.com", 4));
+
+        try (LogTailer tailer = new LogTailer(log, null)) {
+            assertThat(poll(tailer)).containsExactly(message(1), message(2), message(3), message(4));
+        }
+    }
+
+    @Test
+    void restartsATruncatedFileFromItsBeginning() throws IOException {
+        Path log = directory.resolve("application.json");
+        LogLines.append(log, LogLines.read("a@example.com", 1), LogLines.read("a@example.com", 2));
+        try (LogTailer tailer = new LogTailer(log, null)) {
+            poll(tailer);
+
+            Files.writeString(log, LogLines.read("a@example.com", 3)); // Same file, shorter content
+            assertThat(poll(tailer)).containsExactly(message(3));
+        }
+    }
+
+    private static List<String> poll(LogTailer tailer) throws IOException {
+        List<String> messages = new ArrayList<>();
+        tailer.poll(record -> messages.add(record.getMessage()));
+        return messages;
+    }
+
+    private static String message(int number) {
+        return "User a@example.com performed READ operation: fetching product with ID " + number;
+    }
+
+    private static void gzip(Path source, Path target) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+            out.write(Files.readString(source).getBytes(StandardCharsets.UTF_8));
+        }
+        Files.delete(source);
+    }
+}
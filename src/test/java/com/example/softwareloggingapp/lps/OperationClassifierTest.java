@@ -0,0 +1,110 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperationClassifierTest {
+
+    private final OperationClassifier classifier = OperationClassifier.defaults();
+    private final OperationClassifier.Classification result = new OperationClassifier.Classification();
+
+    @Test
+    void classifiesTheMessagesLoggedByTheApplication() {
+        assertClassified("User a@example.com performed READ operation: fetching all products", "a@example.com", "READ");
+        assertClassified("User a@example.com performed WRITE operation: adding product Product(id=null)", "a@example.com", "WRITE");
+        assertClassified("User a@example.com performed DELETE operation: deleting product with ID 1", "a@example.com", "WRITE");
+        assertClassified("User a@example.com searched for the most expensive products", "a@example.com", "MOST_EXPENSIVE_SEARCH");
+    }
+
+    @Test
+    void prefersTheOperationTypeRegisteredFirst() {
+        assertClassified("User a@example.com performed WRITE operation after fetching", "a@example.com", "READ");
+    }
+
+    @Test
+    void findsKeywordsAndTheMarkerAfterPartialMatches() {
+        // "UUser " and "REREAD" only match through the automaton's failure links
+        assertClassified("UUser a@example.com performed REREAD", "a@example.com", "READ");
+    }
+
+    @Test
+    void reportsWhatIsMissing() {
+        assertThat(classifier.classify("Request to fetch all users.", result)).isFalse();
+        assertThat(result.getEmail()).isNull();
+        assertThat(result.getOperation()).isNull();
+
+        assertThat(classifier.classify("User a@example.com logged in", result)).isFalse();
+        assertThat(result.getEmail()).isEqualTo("a@example.com");
+        assertThat(result.getOperation()).isNull();
+
+        assertThat(classifier.classify("User a@example.com", result)).isFalse(); // No space ends the email
+        assertThat(result.getEmail()).isNull();
+
+        assertThat(classifier.classify((String) null, result)).isFalse();
+    }
+
+    @Test
+    void assignsOneCanonicalEmailPerUser() {
+        classifier.classify("User a@example.com performed READ operation", result);
+        int firstId = result.getEmailId();
+        String first = result.getEmail();
+        classifier.classify("User " + new String("a@example.com") + " performed WRITE operation", result);
+
+        assertThat(result.getEmailId()).isEqualTo(firstId);
+        assertThat(result.getEmail()).isSameAs(first);
+        assertThat(classifier.getEmails().nameOf(firstId)).isSameAs(first);
+        assertThat(classifier.getEmails().size()).isEqualTo(1);
+    }
+
+    @Test
+    void readsStructuredFieldsBeforeTheMessage() {
+        LogRecord record = new LogRecord();
+        record.setMessage("User b@example.com performed WRITE operation: adding product");
+        record.setUser("a@example.com");
+        record.setOp("READ");
+
+        assertThat(classifier.classify(record, result)).isTrue();
+        assertThat(result.getEmail()).isEqualTo("a@example.com");
+        assertThat(result.getOperation()).isEqualTo("READ");
+    }
+
+    @Test
+    void mapsStructuredOperationsThroughTheKeywords() {
+        LogRecord record = new LogRecord();
+        record.setUser("a@example.com");
+
+        record.setOp("DELETE");
+        assertThat(classifier.classify(record, result)).isTrue();
+        assertThat(result.getOperation()).isEqualTo("WRITE");
+
+        record.setOp("LOGIN");
+        assertThat(classifier.classify(record, result)).isFalse();
+        assertThat(result.getOperation()).isNull();
+    }
+
+    @Test
+    void fallsBackToTheMessageOfLegacyEvents() {
+        LogRecord record = new LogRecord();
+        record.setMessage("User a@example.com performed READ operation: fetching all products");
+        record.setUser("a@example.com"); // MDC user without a structured operation
+
+        assertThat(classifier.classify(record, result)).isTrue();
+        assertThat(result.getOperation()).isEqualTo("READ");
+    }
+
+    @Test
+    void recognizesRegisteredOperationTypesWithALowerPriority() {
+        classifier.register("EXPORT", "exporting");
+
+        assertThat(classifier.getOperationTypes()).containsExactly("READ", "WRITE", "MOST_EXPENSIVE_SEARCH", "EXPORT");
+        assertClassified("User a@example.com is exporting the catalog", "a@example.com", "EXPORT");
+        assertClassified("User a@example.com is exporting after fetching products", "a@example.com", "READ");
+    }
+
+    private void assertClassified(String message, String email, String operation) {
+        assertThat(classifier.classify(message, result)).isTrue();
+        assertThat(result.getEmail()).isEqualTo(email);
+        assertThat(result.getOperation()).isEqualTo(operation);
+    }
+}
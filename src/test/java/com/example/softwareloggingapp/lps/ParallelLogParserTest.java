@@ -0,0 +1,133 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelLogParserTest {
+
+    private static final String[] USERS = {"a@example.com", "b@example.com", "c@example.com"};
+    private static final String[] OPS = {"READ", "WRITE", "MOST_EXPENSIVE_SEARCH"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void matchesASequentialParseAcrossManyChunks() throws IOException {
+        Path log = directory.resolve("application.json");
+        writeEvents(log, 0, 30_000); // Several MiB, so the file is split into several chunks
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelLogParser.Result result = ParallelLogParser.parse(log, pool);
+
+            assertSameProfiles(result.getProfiles(), parseSequentially(log));
+            assertThat(result.getCheckpoint().getOffset()).isEqualTo(Files.size(log));
+            assertThat(result.getCheckpoint().getSegment()).isNull();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void readsRolledSegmentsBeforeTheActiveFile() throws IOException {
+        Path log = directory.resolve("application.json");
+        writeEvents(directory.resolve("application.2024-12-04.1.json"), 100, 200);
+        writeEvents(directory.resolve("application.2024-12-04.0.json"), 0, 100);
+        writeEvents(log, 200, 300);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelLogParser.Result result = ParallelLogParser.parse(log, pool);
+
+            assertSameProfiles(result.getProfiles(), parseSequentially(log));
+            assertThat(result.getCheckpoint().getSegment()).isEqualTo("application.2024-12-04.1.json");
+            LogParser.OperationDetails details = result.getProfiles().get("a@example.com").getOperations().get("READ");
+            assertThat(details.getOperations()).extracting(LogParser.Activity::getTimestamp).isSorted();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void skipsAndCountsEventsWithAMalformedTimestamp() throws IOException {
+        Path log = directory.resolve("application.json");
+        writeEvents(log, 0, 10);
+        LogLines.append(log, LogLines.structured("yesterday", "a@example.com", "READ",
+                "User a@example.com performed READ operation: fetching all products"));
+
+        ParallelLogParser.Result result = ParallelLogParser.parse(log, ForkJoinPool.commonPool());
+
+        assertThat(result.getInvalidTimestamps()).isEqualTo(1);
+        assertSameProfiles(result.getProfiles(), parseSequentially(log));
+        result.getProfiles().values().forEach(profile -> profile.getOperations().values().forEach(details ->
+                assertThat(details.getOperations()).allMatch(activity -> activity.getTimestamp() > 0)));
+    }
+
+    @Test
+    void handlesAnEmptyLog() throws IOException {
+        Path log = directory.resolve("application.json");
+        Files.createFile(log);
+
+        ParallelLogParser.Result result = ParallelLogParser.parse(log, ForkJoinPool.commonPool());
+
+        assertThat(result.getProfiles()).isEmpty();
+        assertThat(result.getCheckpoint().getOffset()).isZero();
+    }
+
+    private static void writeEvents(Path file, int from, int to) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        Instant start = Instant.parse("2024-12-04T08:00:00Z");
+        for (int i = from; i < to; i++) {
+            String user = USERS[i % USERS.length];
+            String op = OPS[(i / USERS.length) % OPS.length];
+            String message = "User " + user + " performed " + op + " operation number " + i + " " + "x".repeat(120);
+            if (i % 5 == 0) {
+                lines.append(LogLines.legacy(start.plusSeconds(i).toString(),
+                        message.replace("MOST_EXPENSIVE_SEARCH", "searched for the most expensive products")));
+            } else {
+                lines.append(LogLines.structured(start.plusSeconds(i).toString(), user, op, message));
+            }
+        }
+        LogLines.append(file, lines.toString());
+    }
+
+    private static Map<String, LogParser.UserProfile> parseSequentially(Path log) throws IOException {
+        Map<String, LogParser.UserProfile> profiles = new HashMap<>();
+        OperationClassifier.Classification classification = new OperationClassifier.Classification();
+        try (LogTailer tailer = new LogTailer(log, null)) {
+            tailer.poll(record -> LogParser.parseRecord(record, classification, profiles));
+        }
+        return profiles;
+    }
+
+    private static void assertSameProfiles(Map<String, LogParser.UserProfile> actual,
+                                           Map<String, LogParser.UserProfile> expected) {
+        assertThat(actual.keySet()).isEqualTo(expected.keySet());
+        expected.forEach((user, profile) -> {
+            assertThat(actual.get(user).getSummary()).as(user).isEqualTo(profile.getSummary());
+            profile.getOperations().forEach((operation, details) -> {
+                LogParser.OperationDetails merged = actual.get(user).getOperations().get(operation);
+                assertThat(actions(merged)).as(user + " " + operation).isEqualTo(actions(details));
+                assertThat(merged.getRollup().getPerMinute()).isEqualTo(details.getRollup().getPerMinute());
+            });
+        });
+    }
+
+    private static List<String> actions(LogParser.OperationDetails details) {
+        List<String> actions = new ArrayList<>();
+        details.getOperations().forEach(activity -> actions.add(activity.getAction()));
+        return actions;
+    }
+}
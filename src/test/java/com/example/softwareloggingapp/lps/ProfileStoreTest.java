@@ -0,0 +1,120 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProfileStoreTest {
+
+    private static final long DECEMBER_4 = 1_733_299_200_000L; // 2024-12-04T08:00:00Z
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsProfilesWithTheirActivitiesCountsAndRollups() throws IOException {
+        LogParser.UserProfile alice = new LogParser.UserProfile("alice@example.com");
+        alice.addOperation("READ", DECEMBER_4, "fetching all products");
+        alice.addOperation("READ", DECEMBER_4 + 1, "fetching all products"); // Shared action, one dictionary entry
+        alice.addOperation("READ", DECEMBER_4 + 86_400_000L * 400, "fetching product with ID 1"); // Wide delta
+        alice.addOperation("WRITE", -1_000L, "adding product, 1969"); // Negative timestamp, zigzag-encoded
+        alice.addOperation("WRITE", DECEMBER_4, null);
+        alice.getOperations().get("READ").getRollup().restore("perMinute", DECEMBER_4 - 60_000, 7);
+        alice.getOperations().get("READ").getRollup().restore("perHour", -3_600_000L, 2);
+        alice.getOperations().get("READ").getRollup().restore("perDay", DECEMBER_4 - 86_400_000L * 3, 9);
+        alice.getOperations().get("READ").restoreOperationCount(21);
+        LogParser.UserProfile bob = new LogParser.UserProfile("bøb@example.com");
+        bob.addOperation("MOST_EXPENSIVE_SEARCH", DECEMBER_4, "searched for the most expensive products ✓");
+
+        Path store = directory.resolve("profiles.lps");
+        ProfileStoreWriter.write(store, List.of(alice, bob));
+
+        try (ProfileStoreReader reader = new ProfileStoreReader(store)) {
+            assertThat(reader.getUsers()).containsExactly("alice@example.com", "bøb@example.com");
+            assertSameProfile(reader.readProfile("alice@example.com"), alice);
+            assertSameProfile(reader.readProfile("bøb@example.com"), bob);
+            assertThat(reader.readProfile("carol@example.com")).isNull();
+            assertThat(reader.readAll().keySet()).containsExactly("alice@example.com", "bøb@example.com");
+        }
+        assertThat(directory.resolve("profiles.lps.tmp")).doesNotExist();
+    }
+
+    @Test
+    void readsOneUserOfAManyUserStore() throws IOException {
+        List<LogParser.UserProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            LogParser.UserProfile profile = new LogParser.UserProfile("user" + i + "@example.com");
+            for (int a = 0; a <= i % 7; a++) {
+                profile.addOperation(i % 2 == 0 ? "READ" : "WRITE", DECEMBER_4 + a * 1_000L, "action " + (i * 7 + a));
+            }
+            profiles.add(profile);
+        }
+        Path store = directory.resolve("profiles.lps");
+        ProfileStoreWriter.write(store, profiles);
+
+        try (ProfileStoreReader reader = new ProfileStoreReader(store)) {
+            assertThat(reader.getUsers()).hasSize(500);
+            assertSameProfile(reader.readProfile("user321@example.com"), profiles.get(321));
+        }
+    }
+
+    @Test
+    void roundTripsAnEmptyStore() throws IOException {
+        Path store = directory.resolve("profiles.lps");
+        ProfileStoreWriter.write(store, List.of());
+
+        try (ProfileStoreReader reader = new ProfileStoreReader(store)) {
+            assertThat(reader.getUsers()).isEmpty();
+            assertThat(reader.readAll()).isEmpty();
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotAStore() throws IOException {
+        Path notAStore = directory.resolve("profiles.json");
+        Files.writeString(notAStore, "{\"profiles\": [], \"padding\": \"" + "x".repeat(64) + "\"}");
+
+        assertThatThrownBy(() -> new ProfileStoreReader(notAStore)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsATruncatedStore() throws IOException {
+        LogParser.UserProfile alice = new LogParser.UserProfile("alice@example.com");
+        alice.addOperation("READ", DECEMBER_4, "fetching all products");
+        Path store = directory.resolve("profiles.lps");
+        ProfileStoreWriter.write(store, List.of(alice));
+        byte[] bytes = Files.readAllBytes(store);
+        Files.write(store, Arrays.copyOf(bytes, bytes.length - 3)); // The trailer magic is cut off
+
+        assertThatThrownBy(() -> new ProfileStoreReader(store)).isInstanceOf(IOException.class);
+    }
+
+    private static void assertSameProfile(LogParser.UserProfile actual, LogParser.UserProfile expected) {
+        assertThat(actual.getUser()).isEqualTo(expected.getUser());
+        assertThat(actual.getSummary()).isEqualTo(expected.getSummary());
+        expected.getOperations().forEach((operation, details) -> {
+            LogParser.OperationDetails read = actual.getOperations().get(operation);
+            assertThat(activities(read)).isEqualTo(activities(details));
+            assertThat(read.getRollup().toDocument()).isEqualTo(details.getRollup().toDocument());
+        });
+    }
+
+    private static List<Map<String, Object>> activities(LogParser.OperationDetails details) {
+        List<Map<String, Object>> activities = new ArrayList<>();
+        for (LogParser.Activity activity : details.getOperations()) {
+            activities.add(Map.of("timestamp", activity.getTimestamp(), "event", activity.getEvent(),
+                    "action", activity.getAction() == null ? "" : activity.getAction()));
+        }
+        return activities;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolTableTest {
+
+    private final SymbolTable table = new SymbolTable();
+
+    @Test
+    void assignsDenseIdsInOrderOfFirstAppearance() {
+        assertThat(table.intern("a@example.com")).isZero();
+        assertThat(table.intern("b@example.com")).isEqualTo(1);
+        assertThat(table.intern("a@example.com")).isZero();
+        assertThat(table.intern(null)).isEqualTo(SymbolTable.NONE);
+
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.nameOf(1)).isEqualTo("b@example.com");
+        assertThat(table.nameOf(SymbolTable.NONE)).isNull();
+    }
+
+    @Test
+    void internsACharacterRangeAsItsCanonicalString() {
+        String canonical = table.nameOf(table.intern("a@example.com"));
+
+        int id = table.intern("User a@example.com performed READ", 5, 18);
+
+        assertThat(id).isZero();
+        assertThat(table.nameOf(id)).isSameAs(canonical);
+        assertThat(table.intern("User a@example.co performed", 5, 17)).isEqualTo(1); // A prefix is another value
+    }
+
+    @Test
+    void keepsEveryValueAcrossResizes() {
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(table.intern("user" + i + "@example.com")).isEqualTo(i);
+        }
+
+        assertThat(table.size()).isEqualTo(10_000);
+        for (int i = 0; i < 10_000; i += 97) {
+            assertThat(table.intern("user" + i + "@example.com")).isEqualTo(i);
+            assertThat(table.nameOf(i)).isEqualTo("user" + i + "@example.com");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimestampBufferTest {
+
+    private final TimestampBuffer buffer = new TimestampBuffer();
+
+    @Test
+    void keepsLateTimestampsInOrder() {
+        buffer.add(10);
+        buffer.add(30);
+        buffer.add(20); // Late event
+        buffer.add(30);
+
+        assertThat(buffer.toArray()).containsExactly(10, 20, 30, 30);
+        assertThat(buffer.get(1)).isEqualTo(20);
+        assertThatThrownBy(() -> buffer.get(4)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void answersHalfOpenRanges() {
+        for (long timestamp : new long[]{10, 20, 20, 30, 40}) {
+            buffer.add(timestamp);
+        }
+
+        assertThat(buffer.countBetween(20, 40)).isEqualTo(3);
+        assertThat(buffer.between(20, 40)).containsExactly(20, 20, 30);
+        assertThat(buffer.countBetween(41, 100)).isZero();
+        assertThat(buffer.between(40, 10)).isEmpty(); // Reversed range
+        assertThat(buffer.countBetween(Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(5);
+    }
+
+    @Test
+    void matchesASortedArrayOfRoughlyChronologicalTimestamps() {
+        Random random = new Random(11);
+        long[] expected = new long[2_000];
+        long time = 1_733_299_200_000L;
+        for (int i = 0; i < expected.length; i++) {
+            time += random.nextInt(1_000);
+            expected[i] = time - random.nextInt(3_000); // Up to a few seconds late
+            buffer.add(expected[i]);
+        }
+        Arrays.sort(expected);
+
+        assertThat(buffer.toArray()).containsExactly(expected);
+        long from = expected[500];
+        long to = expected[1_500];
+        assertThat(buffer.countBetween(from, to))
+                .isEqualTo((int) Arrays.stream(expected).filter(t -> t >= from && t < to).count());
+    }
+}
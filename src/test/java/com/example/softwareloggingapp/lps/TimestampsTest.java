@@ -0,0 +1,33 @@
+package com.example.softwareloggingapp.lps;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimestampsTest {
+
+    @Test
+    void parsesTheEncoderLayoutLikeOffsetDateTime() {
+        for (String timestamp : new String[]{"2024-12-04T20:51:15.229572812+01:00", "2024-12-04T20:51:15.5Z",
+                "2024-12-04T20:51:15Z", "2024-02-29T00:00:00.000-05:30", "1969-12-31T23:59:59.999Z"}) {
+            assertThat(Timestamps.toEpochMillis(timestamp)).as(timestamp)
+                    .isEqualTo(OffsetDateTime.parse(timestamp).toInstant().toEpochMilli());
+        }
+    }
+
+    @Test
+    void fallsBackToTheGeneralParserForOtherLayouts() {
+        assertThat(Timestamps.toEpochMillis("2024-12-04T20:51+01:00")).isEqualTo(1_733_341_860_000L);
+    }
+
+    @Test
+    void flagsMissingOrMalformedTimestamps() {
+        assertThat(Timestamps.toEpochMillis(null)).isEqualTo(Timestamps.INVALID);
+        assertThat(Timestamps.toEpochMillis("yesterday")).isEqualTo(Timestamps.INVALID);
+        assertThat(Timestamps.toEpochMillis("2024-02-30T00:00:00Z")).isEqualTo(Timestamps.INVALID); // No such day
+        assertThat(Timestamps.toEpochMillis("2024-12-04T24:00:00Z")).isEqualTo(Timestamps.INVALID);
+        assertThat(Timestamps.toEpochMillis("1970-01-01T00:00:00Z")).isZero(); // The epoch itself is valid
+    }
+}
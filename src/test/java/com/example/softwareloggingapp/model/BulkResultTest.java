@@ -0,0 +1,49 @@
+package com.example.softwareloggingapp.model;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkResultTest {
+
+    @Test
+    void countsWhatABatchWroteAndRejected() {
+        BulkWriteResult written = BulkWriteResult.acknowledged(3, 0, 0, 0, List.of(), List.of());
+        List<BulkWriteError> rejected = List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 3));
+
+        BulkResult batch = BulkResult.ofBatch(4, written, rejected);
+
+        assertThat(batch.getBatches()).isEqualTo(1);
+        assertThat(batch.getReceived()).isEqualTo(4);
+        assertThat(batch.getInserted()).isEqualTo(3);
+        assertThat(batch.getFailed()).isEqualTo(1);
+        assertThat(batch.getErrors()).containsExactly("Operation 3: E11000 duplicate key");
+    }
+
+    @Test
+    void accumulatesBatchesAndKeepsTheFirstErrorsOnly() {
+        List<BulkWriteError> rejected = new ArrayList<>();
+        for (int i = 0; i < BulkResult.MAX_ERRORS; i++) {
+            rejected.add(new BulkWriteError(11000, "duplicate " + i, new BsonDocument(), i));
+        }
+        BulkWriteResult nothingWritten = BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of());
+        BulkWriteResult updated = BulkWriteResult.acknowledged(0, 5, 0, 4, List.of(), List.of());
+
+        BulkResult total = new BulkResult()
+                .add(BulkResult.ofBatch(BulkResult.MAX_ERRORS, nothingWritten, rejected))
+                .add(BulkResult.ofBatch(6, updated, List.of(new BulkWriteError(1, "late", new BsonDocument(), 5))));
+
+        assertThat(total.getBatches()).isEqualTo(2);
+        assertThat(total.getReceived()).isEqualTo(BulkResult.MAX_ERRORS + 6);
+        assertThat(total.getMatched()).isEqualTo(5);
+        assertThat(total.getModified()).isEqualTo(4);
+        assertThat(total.getFailed()).isEqualTo(BulkResult.MAX_ERRORS + 1);
+        assertThat(total.getErrors()).hasSize(BulkResult.MAX_ERRORS).doesNotContain("Operation 5: late");
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.softwareloggingapp.reactive.controller;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.softwareloggingapp.model.Product;
+import com.example.softwareloggingapp.reactive.repository.ReactiveProductRepository;
+import com.example.softwareloggingapp.reactive.service.ReactiveProductService;
+import com.example.softwareloggingapp.spoon.ProfileGenerator;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveProductControllerTest {
+
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ReactiveProductController.class);
+    private final ReactiveProductService productService = mock(ReactiveProductService.class);
+    private final ProfileGenerator profileGenerator = mock(ProfileGenerator.class);
+    private final WebTestClient client = WebTestClient
+            .bindToController(new ReactiveProductController(productService, profileGenerator))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        events.start();
+        logger.addAppender(events);
+        logger.setAdditive(false); // Keeps the events out of the application log
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(events);
+        logger.setAdditive(true);
+    }
+
+    @Test
+    void logsASuccessfulRead() {
+        Product product = new Product();
+        product.setId("a");
+        when(productService.getProductById("a")).thenReturn(Mono.just(product));
+
+        client.get().uri("/api/products/readProductById/a").header("user-email", "a@example.com")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(operationFields()).contains("op=READ", "entityId=a", "outcome=success");
+    }
+
+    @Test
+    void logsAFailedRead() {
+        when(productService.getProductById("missing")).thenReturn(Mono.error(new RuntimeException("Product not found!")));
+
+        client.get().uri("/api/products/readProductById/missing").header("user-email", "a@example.com")
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        assertThat(operationFields()).contains("op=READ", "entityId=missing", "outcome=failure");
+        verify(profileGenerator, timeout(5_000).atLeastOnce()).generateAggregatedProfiles();
+    }
+
+    @Test
+    void logsAStaleUpdate() {
+        when(productService.updateProduct(any())).thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+
+        client.put().uri("/api/products/updateProduct").header("user-email", "a@example.com")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\": \"a\", \"version\": 1}")
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        assertThat(operationFields()).contains("op=WRITE", "entityId=a", "outcome=failure");
+    }
+
+    @Test
+    void logsAFailedDeleteAndAConflictingCreate() {
+        when(productService.deleteProduct("missing")).thenReturn(Mono.error(new RuntimeException("Product not found!")));
+        when(productService.addProduct(any())).thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+        client.delete().uri("/api/products/deleteProduct/missing").header("user-email", "a@example.com")
+                .exchange()
+                .expectStatus().is5xxServerError();
+        client.post().uri("/api/products/create").header("user-email", "a@example.com")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\": \"a\"}")
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> events.list.size() == 2);
+        assertThat(fields(0)).contains("op=DELETE", "outcome=failure");
+        assertThat(fields(1)).contains("op=WRITE", "entityId=a", "outcome=failure");
+    }
+
+    @Test
+    void createsAProductWhenTheBodyCarriesAVersion() {
+        ReactiveProductRepository repository = mock(ReactiveProductRepository.class);
+        when(repository.save(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            return product.getVersion() != null // Saved as an update of version 3, which does not exist
+                    ? Mono.error(new OptimisticLockingFailureException("Cannot save entity a with version 3"))
+                    : Mono.just(product);
+        });
+        ReactiveProductService service = new ReactiveProductService(repository, mock(ReactiveMongoTemplate.class),
+                OpenTelemetry.noop().getTracer("test"));
+
+        WebTestClient.bindToController(new ReactiveProductController(service, profileGenerator)).build()
+                .post().uri("/api/products/create").header("user-email", "a@example.com")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\": \"a\", \"name\": \"Milk\", \"price\": 1.5, \"version\": 3}")
+                .exchange()
+                .expectStatus().isCreated();
+        verify(repository).save(argThat((Product product) -> product.getVersion() == null)); // Inserted, never updated
+    }
+
+    @Test
+    void logsAListingOnceItIsOver() {
+        when(productService.getAllProducts()).thenReturn(Flux.error(new RuntimeException("Connection reset")));
+
+        client.get().uri("/api/products/readAllProducts").header("user-email", "a@example.com")
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        assertThat(operationFields()).contains("op=READ", "outcome=failure");
+    }
+
+    // The structured fields of the single operation logged
+    private String operationFields() {
+        await().atMost(Duration.ofSeconds(5)).until(() -> !events.list.isEmpty());
+        assertThat(events.list).hasSize(1);
+        return fields(0);
+    }
+
+    private String fields(int index) {
+        Object[] arguments = events.list.get(index).getArgumentArray();
+        return arguments[arguments.length - 1].toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.softwareloggingapp.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class CacheLoadsTest {
+
+    private final AsyncCache<String, String> cache = Caffeine.newBuilder().buildAsync();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadsAMissOnceOnTheCallingThread() {
+        Thread caller = Thread.currentThread();
+
+        String value = CacheLoads.get(cache, "a", key -> {
+            loads.incrementAndGet();
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            return "A";
+        });
+
+        assertThat(value).isEqualTo("A");
+        assertThat(CacheLoads.get(cache, "a", key -> "again")).isEqualTo("A");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void letsConcurrentCallersWaitForTheFirstLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> CacheLoads.get(cache, "a", key -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                awaitQuietly(release);
+                return "A";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> second = executor.submit(() -> CacheLoads.get(cache, "a", key -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void neverCachesAValueLoadedAcrossAnInvalidation() {
+        String value = CacheLoads.get(cache, "a", key -> {
+            cache.synchronous().invalidate(key); // The entry changed while it was being read
+            return "stale";
+        });
+
+        assertThat(value).isEqualTo("stale"); // The caller still gets what it read
+        assertThat(CacheLoads.get(cache, "a", key -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void leavesMissingAndFailedLoadsUncached() {
+        assertThat(CacheLoads.get(cache, "a", key -> null)).isNull();
+        assertThatThrownBy(() -> CacheLoads.get(cache, "b", key -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database down");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> cache.synchronous().estimatedSize() == 0);
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(CacheLoads.get(cache, "b", key -> "B")).isEqualTo("B");
+    }
+
+    @Test
+    void rethrowsTheFailureOfTheLoadItWaitedFor() throws InterruptedException {
+        CompletableFuture<String> loading = new CompletableFuture<>(); // Another caller's load in progress
+        cache.put("a", loading);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread waiting = new Thread(() -> {
+            try {
+                CacheLoads.get(cache, "a", key -> "A");
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        waiting.start();
+        await().atMost(Duration.ofSeconds(5)).until(() -> waiting.getState() == Thread.State.WAITING);
+
+        loading.completeExceptionally(new IllegalStateException("database down"));
+        waiting.join(5_000);
+
+        assertThat(failure.get()).isInstanceOf(IllegalStateException.class).hasMessage("database down");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
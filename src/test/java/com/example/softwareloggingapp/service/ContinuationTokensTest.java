@@ -0,0 +1,65 @@
+package com.example.softwareloggingapp.service;
+
+import com.example.softwareloggingapp.model.CursorPage;
+import com.example.softwareloggingapp.model.Product;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContinuationTokensTest {
+
+    @Test
+    void roundTripsTheSortValues() {
+        String token = ContinuationTokens.encode("price", "19.99", "6750c2a1f0e4b2d3a1b2c3d4");
+
+        assertThat(token).matches("[A-Za-z0-9_-]+"); // Safe in a query string as is
+        assertThat(ContinuationTokens.decode(token, "price", 2)).containsExactly("19.99", "6750c2a1f0e4b2d3a1b2c3d4");
+        assertThat(ContinuationTokens.decode(ContinuationTokens.encode("id", ""), "id", 1)).containsExactly("");
+    }
+
+    @Test
+    void rejectsATokenIssuedForAnotherSortKey() {
+        String token = ContinuationTokens.encode("id", "6750c2a1f0e4b2d3a1b2c3d4");
+
+        assertThatThrownBy(() -> ContinuationTokens.decode(token, "price", 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid continuation token!");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String tooManyValues = Base64.getUrlEncoder().encodeToString("id\na\nb".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> ContinuationTokens.decode("not base64!", "id", 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ContinuationTokens.decode(tooManyValues, "id", 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resumesAPriceListingAfterTheLastProductOfThePage() {
+        List<Product> fetched = List.of(product("b", 10), product("a", 20), product("c", 20)); // Page size + 1
+
+        CursorPage<Product> page = ProductQueries.toPage(fetched, "price", 2);
+        Document next = ProductQueries.page("price", 2, page.getNextToken()).getQueryObject();
+
+        assertThat(page.getItems()).extracting(Product::getId).containsExactly("b", "a");
+        assertThat(next.toJson()).isEqualTo(new Document("$or", List.of(
+                new Document("price", new Document("$gt", 20.0)),
+                new Document("price", 20.0).append("id", new Document("$gt", "a")))).toJson());
+        assertThat(ProductQueries.toPage(fetched.subList(0, 2), "price", 2).getNextToken()).isNull();
+    }
+
+    private static Product product(String id, double price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(price);
+        return product;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.softwareloggingapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final CredentialCache cache = new CredentialCache(100, Duration.ofMinutes(5), Duration.ofSeconds(30), nanos::get);
+    private final Map<String, String> passwords = new HashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Test
+    void checksPasswordsWithoutQueryingAgain() {
+        passwords.put("a@example.com", "secret");
+
+        assertThat(verify("a@example.com", "secret")).isTrue();
+        assertThat(verify("a@example.com", "wrong")).isFalse();
+        assertThat(verify("a@example.com", "secret")).isTrue();
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    void looksUpAnUnknownEmailAgainAfterTheNegativeTtl() {
+        assertThat(verify("a@example.com", "secret")).isFalse();
+        passwords.put("a@example.com", "secret"); // Created by another instance, without invalidation here
+        assertThat(verify("a@example.com", "secret")).isFalse();
+        assertThat(lookups).hasValue(1);
+
+        advance(31, TimeUnit.SECONDS);
+
+        assertThat(verify("a@example.com", "secret")).isTrue();
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void keepsKnownEmailsUntilTheirLongerTtl() {
+        passwords.put("a@example.com", "secret");
+        verify("a@example.com", "secret");
+        passwords.put("a@example.com", "changed");
+
+        advance(31, TimeUnit.SECONDS);
+        assertThat(verify("a@example.com", "secret")).isTrue();
+        advance(5, TimeUnit.MINUTES);
+        assertThat(verify("a@example.com", "changed")).isTrue();
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void readsChangedCredentialsAfterAnInvalidation() {
+        passwords.put("a@example.com", "secret");
+        verify("a@example.com", "secret");
+        passwords.put("a@example.com", "changed");
+
+        cache.invalidate("a@example.com");
+        assertThat(verify("a@example.com", "changed")).isTrue();
+
+        passwords.put("a@example.com", "again");
+        cache.invalidateAll();
+        assertThat(verify("a@example.com", "again")).isTrue();
+        assertThat(lookups).hasValue(3);
+    }
+
+    private boolean verify(String email, String password) {
+        return cache.verify(email, password, key -> {
+            lookups.incrementAndGet();
+            return Optional.ofNullable(passwords.get(key));
+        });
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(duration));
+    }
+}
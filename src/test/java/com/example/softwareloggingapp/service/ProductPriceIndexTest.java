@@ -0,0 +1,135 @@
+package com.example.softwareloggingapp.service;
+
+import com.example.softwareloggingapp.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPriceIndexTest {
+
+    private final ProductPriceIndex index = new ProductPriceIndex(2);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadsTwiceTheServedCountOnceAndThenAnswersFromMemory() {
+        List<Product> stored = List.of(product("a", 50), product("b", 40), product("c", 30), product("d", 20));
+
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("a", "b");
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("a", "b");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void appliesSavesAndDeletionsWithoutQueryingAgain() {
+        List<Product> stored = List.of(product("a", 50), product("b", 40), product("c", 30), product("d", 20));
+        index.getTopProducts(count -> load(stored, count));
+
+        index.onSaved(product("e", 45), index.generation());
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("a", "e");
+        index.onSaved(product("a", 10), index.generation()); // Price drop below the last indexed entry, no longer known to rank
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("e", "b");
+        index.onDeleted("e");
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("b", "c");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void reloadsOnceDeletionsLeaveTooFewEntries() {
+        List<Product> stored = new ArrayList<>(List.of(product("a", 50), product("b", 40), product("c", 30),
+                product("d", 20), product("e", 10)));
+        index.getTopProducts(count -> load(stored, count));
+
+        for (String id : List.of("a", "b", "c")) {
+            stored.removeIf(product -> product.getId().equals(id));
+            index.onDeleted(id);
+        }
+
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("d", "e");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void servesASmallCollectionWithoutReloading() {
+        List<Product> stored = List.of(product("a", 50));
+
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("a");
+        index.onSaved(product("b", 5), index.generation()); // The whole collection is indexed, so every product is kept
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("a", "b");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void reloadsAfterAnInvalidation() {
+        List<Product> stored = List.of(product("a", 50), product("b", 40));
+        index.getTopProducts(count -> load(stored, count));
+
+        index.invalidate();
+
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("a", "b");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void discardsALoadOverlappingAChange() {
+        List<Product> stale = List.of(product("a", 50), product("b", 40));
+
+        List<Product> served = index.getTopProducts(count -> {
+            index.onDeleted("a"); // Committed while the query was running
+            return load(stale, count);
+        });
+
+        assertThat(ids(served)).containsExactly("a", "b"); // The caller still gets its own result
+        List<Product> fresh = List.of(product("b", 40));
+        assertThat(ids(index.getTopProducts(count -> load(fresh, count)))).containsExactly("b");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void reloadsInsteadOfApplyingASaveThatRacedAnotherChange() {
+        List<Product> stored = new ArrayList<>(List.of(product("a", 50), product("b", 40), product("c", 30)));
+        index.getTopProducts(count -> load(stored, count));
+
+        long generation = index.generation(); // Read by a writer updating "a", whose notification is delayed
+        stored.removeIf(product -> product.getId().equals("a")); // Then another writer deletes "a"
+        index.onDeleted("a");
+        index.onSaved(product("a", 60), generation); // The late update must not bring "a" back
+
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("b", "c");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void keepsTheNewerOfTwoConcurrentSaves() {
+        List<Product> stored = new ArrayList<>(List.of(product("a", 50), product("b", 40), product("c", 30)));
+        index.getTopProducts(count -> load(stored, count));
+
+        long first = index.generation();
+        long second = index.generation();
+        stored.set(1, product("b", 70)); // Both writers update "b", the second write wins in the database
+        index.onSaved(product("b", 70), second);
+        index.onSaved(product("b", 45), first); // The first writer is notified last
+
+        assertThat(ids(index.getTopProducts(count -> load(stored, count)))).containsExactly("b", "a");
+        assertThat(loads).hasValue(2);
+    }
+
+    private List<Product> load(List<Product> stored, int count) {
+        loads.incrementAndGet();
+        return stored.stream().sorted(ProductPriceIndex.BY_PRICE_DESCENDING).limit(count).toList();
+    }
+
+    private static List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static Product product(String id, double price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(price);
+        return product;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.softwareloggingapp.service;
+
+import com.example.softwareloggingapp.model.BulkResult;
+import com.example.softwareloggingapp.model.Product;
+import com.example.softwareloggingapp.repository.ProductRepository;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductServiceTest {
+
+    private final ProductRepository repository = mock(ProductRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ProductCache cache = new ProductCache(100, 600, new SimpleMeterRegistry());
+    private final ProductService service = new ProductService(repository, mongoTemplate, new ProductPriceIndex(3), cache,
+            OpenTelemetry.noop().getTracer("test"));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "bulkBatchSize", 2);
+    }
+
+    @Test
+    void rejectsCreatingAProductWithATakenId() {
+        Product product = product("a", 10, null);
+        when(repository.save(product)).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+        when(repository.findById("a")).thenReturn(Optional.of(product("a", 99, 4L)));
+
+        assertThatThrownBy(() -> service.addProduct(product)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(service.getProductById("a").getPrice()).isEqualTo(99); // The stored product is still served
+    }
+
+    @Test
+    void insertsBulkProductsAtVersionZero() {
+        BulkOperations operations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Product.class))).thenReturn(operations);
+        when(operations.execute()).thenReturn(mock(BulkWriteResult.class));
+
+        List<Product> products = List.of(product("a", 1, null), product("b", 2, 7L), product("c", 3, null));
+
+        service.bulkAddProducts(products.iterator(), true, 0, batch -> {
+        });
+
+        verify(operations, times(2)).insert(anyList());
+        assertThat(products).extracting(Product::getVersion).containsExactly(0L, 0L, 0L);
+    }
+
+    @Test
+    void stopsAnOrderedBulkWriteAtTheFirstFailedBatch() {
+        BulkOperations operations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Product.class))).thenReturn(operations);
+        BulkOperationException failure = mock(BulkOperationException.class);
+        when(failure.getResult()).thenReturn(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()));
+        when(failure.getErrors()).thenReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+        when(operations.execute()).thenThrow(failure);
+        List<BulkResult> batches = new ArrayList<>();
+
+        BulkResult total = service.bulkAddProducts(List.of(product("a", 1, null), product("a", 1, null),
+                product("b", 2, null)).iterator(), true, 0, batches::add);
+
+        assertThat(batches).hasSize(1); // The third product is never sent
+        assertThat(total.getInserted()).isEqualTo(1);
+        assertThat(total.getFailed()).isEqualTo(1);
+        assertThat(total.getErrors()).containsExactly("Operation 1: E11000 duplicate key");
+    }
+
+    @Test
+    void servesTheStoredProductAfterAnUpdate() {
+        when(repository.findById("a")).thenReturn(Optional.of(product("a", 10, 0L)), Optional.of(product("a", 20, 2L)));
+        assertThat(service.getProductById("a").getPrice()).isEqualTo(10);
+        when(mongoTemplate.findAndModify(any(), any(), any(), eq(Product.class))).thenReturn(product("a", 15, 1L));
+
+        service.updateProduct(product("a", 15, 0L)); // Another update to version 2 committed right after this one
+
+        assertThat(service.getProductById("a").getVersion()).isEqualTo(2L); // Reloaded, not the copy returned by this update
+    }
+
+    @Test
+    void dropsCachedProductsWhenABulkWriteFailsMidway() {
+        when(repository.findById("a")).thenReturn(Optional.of(product("a", 10, 0L)), Optional.of(product("a", 20, 1L)));
+        when(repository.findAllByOrderByPriceDescIdAsc(any()))
+                .thenReturn(List.of(product("a", 10, 0L)), List.of(product("a", 20, 1L)));
+        assertThat(service.getProductById("a").getPrice()).isEqualTo(10);
+        assertThat(service.getTopExpensiveProducts()).extracting(Product::getPrice).containsExactly(10.0);
+        BulkOperations operations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Product.class))).thenReturn(operations);
+        when(operations.execute()).thenThrow(new DataAccessResourceFailureException("Socket timeout")); // After a partial write
+
+        assertThatThrownBy(() -> service.bulkUpdateProducts(List.of(product("a", 20, 0L)).iterator(), true, 0, batch -> {
+        })).isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(service.getProductById("a").getPrice()).isEqualTo(20);
+        assertThat(service.getTopExpensiveProducts()).extracting(Product::getPrice).containsExactly(20.0);
+    }
+
+    static Product product(String id, double price, Long version) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(price);
+        product.setVersion(version);
+        return product;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.softwareloggingapp.service;
+
+import com.example.softwareloggingapp.model.CursorPage;
+import com.example.softwareloggingapp.model.UserSummary;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserQueriesTest {
+
+    @Test
+    void neverFetchesPasswords() {
+        Document fields = UserQueries.page(10, null).getFieldsObject();
+
+        assertThat(fields.keySet()).containsExactlyInAnyOrder("id", "name", "age", "email");
+    }
+
+    @Test
+    void pagesThroughUsersInIdOrder() {
+        List<UserSummary> fetched = List.of(user("1"), user("2"), user("3")); // Page size + 1
+
+        CursorPage<UserSummary> page = UserQueries.toPage(fetched, 2);
+        Document next = UserQueries.page(2, page.getNextToken()).getQueryObject();
+
+        assertThat(page.getItems()).extracting(UserSummary::getId).containsExactly("1", "2");
+        assertThat(next).isEqualTo(new Document("id", new Document("$gt", "2")));
+        assertThat(UserQueries.page(2, null).getLimit()).isEqualTo(3);
+        assertThat(UserQueries.toPage(fetched, 3).getNextToken()).isNull();
+    }
+
+    @Test
+    void capsThePageSize() {
+        assertThat(UserQueries.pageSize(0)).isEqualTo(1);
+        assertThat(UserQueries.pageSize(UserService.MAX_PAGE_SIZE + 1)).isEqualTo(UserService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void rejectsAProductToken() {
+        String productToken = ContinuationTokens.encode("price", "10.0", "1");
+
+        assertThatThrownBy(() -> UserQueries.page(2, productToken)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static UserSummary user(String id) {
+        UserSummary user = new UserSummary();
+        user.setId(id);
+        return user;
+    }
+}
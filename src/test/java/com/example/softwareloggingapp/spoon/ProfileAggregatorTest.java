@@ -0,0 +1,140 @@
+package com.example.softwareloggingapp.spoon;
+
+import com.example.softwareloggingapp.lps.LogRecord;
+import com.example.softwareloggingapp.lps.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfileAggregatorTest {
+
+    private final SymbolTable emails = new SymbolTable();
+
+    @Test
+    void sortsUsersByOperationCountThenFirstAppearance() {
+        ProfileAggregator aggregator = new ProfileAggregator(10, emails);
+        record(aggregator, "READ", "a@example.com", "2024-12-04T08:00:00Z");
+        record(aggregator, "READ", "b@example.com", "2024-12-04T08:00:01Z");
+        record(aggregator, "READ", "c@example.com", "2024-12-04T08:00:02Z");
+        record(aggregator, "READ", "c@example.com", "2024-12-04T08:00:03Z");
+
+        assertThat(users(aggregator.format("READ"))).containsExactly("c@example.com", "a@example.com", "b@example.com");
+    }
+
+    @Test
+    void keepsOperationTypesApart() {
+        ProfileAggregator aggregator = new ProfileAggregator(10, emails);
+        record(aggregator, "READ", "a@example.com", "2024-12-04T08:00:00Z");
+        record(aggregator, "WRITE", "b@example.com", "2024-12-04T08:00:01Z");
+
+        assertThat(aggregator.format("READ")).containsEntry("operation", "READ");
+        assertThat(users(aggregator.format("READ"))).containsExactly("a@example.com");
+        assertThat(users(aggregator.format("WRITE"))).containsExactly("b@example.com");
+        assertThat(users(aggregator.format("MOST_EXPENSIVE_SEARCH"))).isEmpty();
+    }
+
+    @Test
+    void formatsRetainedEntriesWithTheirUser() {
+        ProfileAggregator aggregator = new ProfileAggregator(10, emails);
+        record(aggregator, "READ", "a@example.com", "2024-12-04T08:00:00Z");
+
+        Map<String, Object> entry = operations(profiles(aggregator.format("READ")).get(0)).get(0);
+        assertThat(entry).containsEntry("user", "a@example.com")
+                .containsEntry("@timestamp", "2024-12-04T08:00:00Z")
+                .containsEntry("message", "message at 2024-12-04T08:00:00Z")
+                .containsEntry("logger_name", "logger")
+                .containsEntry("thread_name", "thread")
+                .containsEntry("level", "INFO");
+        assertThat(entry.keySet()).first().isEqualTo("user");
+    }
+
+    @Test
+    void writesTimestampsAsUtcInstants() {
+        ProfileAggregator aggregator = new ProfileAggregator(10, emails);
+        record(aggregator, "READ", "a@example.com", "2024-12-04T09:00:00.250+01:00");
+
+        assertThat(operations(profiles(aggregator.format("READ")).get(0)).get(0))
+                .containsEntry("@timestamp", "2024-12-04T08:00:00.250Z");
+    }
+
+    @Test
+    void skipsEntriesWithAMissingOrMalformedTimestamp() {
+        ProfileAggregator aggregator = new ProfileAggregator(1, emails);
+        record(aggregator, "READ", "a@example.com", "2024-12-04T08:00:00Z");
+
+        assertThat(record(aggregator, "READ", "a@example.com", "yesterday")).isFalse();
+        assertThat(record(aggregator, "READ", "a@example.com", null)).isFalse();
+
+        Map<String, Object> profile = profiles(aggregator.format("READ")).get(0);
+        assertThat(profile).containsEntry("operationCount", 1);
+        assertThat(profile.get("rollups")).isEqualTo(Map.of("perMinute", Map.of(), "perHour", Map.of(), "perDay", Map.of()));
+    }
+
+    @Test
+    void rollsUpEntriesBeyondTheRetainedOnes() {
+        ProfileAggregator aggregator = new ProfileAggregator(2, emails);
+        record(aggregator, "READ", "a@example.com", "2024-12-04T08:00:00Z");
+        record(aggregator, "READ", "a@example.com", "2024-12-04T08:00:30Z");
+        record(aggregator, "READ", "a@example.com", "2024-12-04T09:00:00Z");
+
+        Map<String, Object> profile = profiles(aggregator.format("READ")).get(0);
+        assertThat(profile).containsEntry("operationCount", 3);
+        assertThat(operations(profile)).extracting(entry -> entry.get("@timestamp"))
+                .containsExactly("2024-12-04T08:00:30Z", "2024-12-04T09:00:00Z");
+        assertThat(profile.get("rollups")).isEqualTo(Map.of(
+                "perMinute", Map.of("2024-12-04T08:00:00Z", 1),
+                "perHour", Map.of("2024-12-04T08:00:00Z", 1),
+                "perDay", Map.of("2024-12-04T00:00:00Z", 1)));
+    }
+
+    @Test
+    void restoresCountersOfEntriesRolledUpByAPreviousRun() {
+        ProfileAggregator aggregator = new ProfileAggregator(2, emails);
+        int emailId = emails.intern("a@example.com");
+        record(aggregator, "READ", "a@example.com", "2024-12-04T08:00:00Z");
+        long minute = 1_733_299_200_000L; // 2024-12-04T08:00:00Z
+        aggregator.restore("READ", emailId, 5, Map.of("perMinute", Map.of(minute, 4)));
+
+        Map<String, Object> profile = profiles(aggregator.format("READ")).get(0);
+        assertThat(profile).containsEntry("operationCount", 5);
+        assertThat(profile.get("rollups")).isEqualTo(Map.of(
+                "perMinute", Map.of("2024-12-04T08:00:00Z", 4), "perHour", Map.of(), "perDay", Map.of()));
+    }
+
+    @Test
+    void clearDropsEveryProfile() {
+        ProfileAggregator aggregator = new ProfileAggregator(10, emails);
+        record(aggregator, "READ", "a@example.com", "2024-12-04T08:00:00Z");
+
+        aggregator.clear();
+
+        assertThat(users(aggregator.format("READ"))).isEmpty();
+    }
+
+    private boolean record(ProfileAggregator aggregator, String operationType, String email, String timestamp) {
+        LogRecord record = new LogRecord();
+        record.setTimestamp(timestamp);
+        record.setMessage("message at " + timestamp);
+        record.setLoggerName("logger");
+        record.setThreadName("thread");
+        record.setLevel("INFO");
+        return aggregator.record(operationType, emails.intern(email), record);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> profiles(Map<String, Object> document) {
+        return (List<Map<String, Object>>) document.get("profiles");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> operations(Map<String, Object> profile) {
+        return (List<Map<String, Object>>) profile.get("operations");
+    }
+
+    private static List<Object> users(Map<String, Object> document) {
+        return profiles(document).stream().map(profile -> profile.get("user")).toList();
+    }
+}
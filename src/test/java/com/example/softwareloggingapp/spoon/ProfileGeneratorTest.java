@@ -0,0 +1,178 @@
+package com.example.softwareloggingapp.spoon;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.FileAppender;
+import com.example.softwareloggingapp.logging.PolicyAsyncAppender;
+import com.example.softwareloggingapp.lps.LogLines;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.softwareloggingapp.logging.OperationFields.operation;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ProfileGeneratorTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresSavedProfilesAndResumesFromTheCheckpoint() throws IOException {
+        LogLines.append(log(), LogLines.read("a@example.com", 1), LogLines.read("b@example.com", 2));
+        run();
+
+        LogLines.append(log(), LogLines.read("a@example.com", 3));
+        run();
+
+        assertThat(operationCount("read", "a@example.com")).isEqualTo(2);
+        assertThat(operationCount("read", "b@example.com")).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildsEveryProfileFromTheLogWhenAProfileFileIsMissing() throws IOException {
+        LogLines.append(log(), LogLines.read("a@example.com", 1), LogLines.structured(
+                "2024-12-04T08:00:01.000+01:00", "a@example.com", "WRITE", "User a@example.com performed WRITE operation"));
+        run();
+        Files.delete(directory.resolve("write_profiles.json"));
+
+        LogLines.append(log(), LogLines.read("a@example.com", 2));
+        run();
+
+        assertThat(operationCount("write", "a@example.com")).isEqualTo(1); // Recovered from the log
+        assertThat(operationCount("read", "a@example.com")).isEqualTo(2); // Not counted twice
+    }
+
+    @Test
+    void readsNewLinesInTheBackground() throws IOException {
+        ProfileGenerator generator = new ProfileGenerator(directory.toString(), 60_000, 1, 100, false);
+        try {
+            LogLines.append(log(), LogLines.read("a@example.com", 1));
+            generator.generateAggregatedProfiles();
+
+            await().atMost(Duration.ofSeconds(10)).ignoreExceptions().untilAsserted(() ->
+                    assertThat(operationCount("read", "a@example.com")).isEqualTo(1)); // Written by an early flush
+        } finally {
+            generator.close();
+        }
+    }
+
+    @Test
+    void readsEventsLoggedThroughTheAsyncAppenderWithoutARequest() throws IOException {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        PolicyAsyncAppender appender = asyncFileAppender(context);
+        Logger logger = context.getLogger("com.example.softwareloggingapp.controller.ProductController");
+        logger.addAppender(appender);
+        ProfileGenerator generator = new ProfileGenerator(directory.toString(), 100, 1, 100, false);
+        try {
+            // No poll is queued after the event, as when the request's poll runs before it leaves the ring buffer
+            logger.info("User {} performed READ operation: fetching product with ID {}", "a@example.com", "1",
+                    operation("READ", "a@example.com", "product", "1", System.nanoTime(), true));
+
+            await().atMost(Duration.ofSeconds(10)).ignoreExceptions().untilAsserted(() ->
+                    assertThat(operationCount("read", "a@example.com")).isEqualTo(1)); // Read by a periodic poll
+        } finally {
+            generator.close();
+            appender.stop();
+        }
+    }
+
+    @Test
+    void countsEveryEventOnceUnderConcurrentRequests() throws Exception {
+        int threads = 8;
+        int eventsPerThread = 200;
+        Object appendLock = new Object(); // Keeps each appended line whole
+        ProfileGenerator generator = new ProfileGenerator(directory.toString(), 60_000, 50, 1_000, false);
+        ExecutorService requests = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String user = "user" + t + "@example.com";
+                results.add(requests.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < eventsPerThread; i++) {
+                        synchronized (appendLock) {
+                            LogLines.append(log(), LogLines.read(user, i));
+                        }
+                        generator.generateAggregatedProfiles();
+                        if (i % 50 == 0) {
+                            generator.ingestPending(); // Races the background reader
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            requests.shutdown();
+            generator.close();
+        }
+
+        for (int t = 0; t < threads; t++) {
+            assertThat(operationCount("read", "user" + t + "@example.com")).isEqualTo(eventsPerThread);
+        }
+        JsonNode checkpoint = objectMapper.readTree(directory.resolve("profiles_checkpoint.json").toFile());
+        assertThat(checkpoint.path("offset").asLong()).isEqualTo(Files.size(log()));
+    }
+
+    // The ASYNC and FILE appenders of logback-spring.xml, writing to the test's log file
+    private PolicyAsyncAppender asyncFileAppender(LoggerContext context) {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(log().toString());
+        file.setImmediateFlush(false); // Flushed once per batch by the async appender
+        file.setEncoder(encoder);
+        file.start();
+        PolicyAsyncAppender appender = new PolicyAsyncAppender();
+        appender.setContext(context);
+        appender.addAppender(file);
+        appender.start();
+        return appender;
+    }
+
+    private void run() throws IOException {
+        ProfileGenerator generator = new ProfileGenerator(directory.toString(), 60_000, Integer.MAX_VALUE, 100, false);
+        generator.generateAggregatedProfiles();
+        generator.close(); // Writes the profiles and the checkpoint
+    }
+
+    private Path log() {
+        return directory.resolve("application.json");
+    }
+
+    private int operationCount(String operationType, String user) throws IOException {
+        JsonNode document = objectMapper.readTree(directory.resolve(operationType + "_profiles.json").toFile());
+        for (JsonNode profile : document.path("profiles")) {
+            if (profile.path("user").asText().equals(user)) {
+                return profile.path("operationCount").asInt();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.softwareloggingapp.spoon;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ProfileSnapshotWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesEveryDocumentOnClose() throws IOException {
+        Path profiles = directory.resolve("read_profiles.json");
+        Path checkpoint = directory.resolve("profiles_checkpoint.json");
+        try (ProfileSnapshotWriter writer = new ProfileSnapshotWriter(() -> documents(profiles, checkpoint),
+                60_000, Integer.MAX_VALUE, Executors.defaultThreadFactory())) {
+            writer.markUpdated(1);
+        }
+
+        assertThat(Files.readString(profiles)).contains("\"operation\" : \"READ\"");
+        assertThat(Files.readString(checkpoint)).contains("\"offset\" : 42");
+        assertThat(directory.resolve("read_profiles.json.tmp")).doesNotExist();
+    }
+
+    @Test
+    void coalescesUpdatesBelowTheEventThreshold() {
+        AtomicInteger snapshots = new AtomicInteger();
+        Path checkpoint = directory.resolve("profiles_checkpoint.json");
+        try (ProfileSnapshotWriter writer = new ProfileSnapshotWriter(() -> {
+            snapshots.incrementAndGet();
+            return documents(directory.resolve("read_profiles.json"), checkpoint);
+        }, 60_000, 100, Executors.defaultThreadFactory())) {
+            for (int i = 0; i < 99; i++) {
+                writer.markUpdated(1);
+            }
+            assertThat(snapshots).hasValue(0); // Neither the interval nor the threshold was reached
+        }
+        assertThat(snapshots).hasValue(1); // Closing flushes the pending updates once
+    }
+
+    @Test
+    void doesNotAdvanceTheCheckpointPastAFailedProfileAndRetries() throws IOException {
+        Path profiles = directory.resolve("missing").resolve("read_profiles.json"); // Parent does not exist yet
+        Path checkpoint = directory.resolve("profiles_checkpoint.json");
+        try (ProfileSnapshotWriter writer = new ProfileSnapshotWriter(() -> documents(profiles, checkpoint),
+                50, 1, Executors.defaultThreadFactory())) {
+            writer.markUpdated(1);
+
+            await().during(Duration.ofMillis(300)).atMost(Duration.ofSeconds(2))
+                    .untilAsserted(() -> assertThat(checkpoint).doesNotExist());
+
+            Files.createDirectories(profiles.getParent());
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(checkpoint).exists());
+            assertThat(profiles).exists();
+        }
+    }
+
+    private static Map<Path, Object> documents(Path profiles, Path checkpoint) {
+        Map<Path, Object> documents = new LinkedHashMap<>();
+        documents.put(profiles, Map.of("operation", "READ"));
+        documents.put(checkpoint, Map.of("offset", 42)); // Last, like the generator's checkpoint
+        return documents;
+    }
+}
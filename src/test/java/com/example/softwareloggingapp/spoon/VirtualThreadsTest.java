@@ -0,0 +1,33 @@
+package com.example.softwareloggingapp.spoon;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadsTest {
+
+    @Test
+    void createsNamedDaemonPlatformThreadsWhenVirtualThreadsAreOff() {
+        Thread thread = VirtualThreads.factory("profile-snapshot-writer", false).newThread(() -> {
+        });
+
+        assertThat(thread.getName()).isEqualTo("profile-snapshot-writer");
+        assertThat(thread.isDaemon()).isTrue();
+    }
+
+    @Test
+    void createsNamedThreadsWhenVirtualThreadsAreRequested() throws InterruptedException {
+        ThreadFactory factory = VirtualThreads.factory("profile-snapshot-writer", true);
+        boolean[] ran = {false};
+        Thread thread = factory.newThread(() -> ran[0] = true);
+
+        assertThat(thread.getName()).isEqualTo("profile-snapshot-writer");
+        assertThat(thread.isDaemon()).isTrue(); // Virtual threads are always daemons
+        thread.start();
+        thread.join(5_000);
+        assertThat(ran[0]).isTrue();
+        assertThat(VirtualThreads.isSupported()).isEqualTo(Runtime.version().feature() >= 21);
+    }
+}